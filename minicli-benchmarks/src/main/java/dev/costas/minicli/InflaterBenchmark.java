@@ -0,0 +1,43 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.benchmarks.GeneratedCommands;
+import dev.costas.minicli.models.CommandModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Inflater#inflateInstance} on commands with a growing number of annotated fields. It is in the
+ * package of the framework because the inflater is not public.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InflaterBenchmark {
+	/**
+	 * The number of annotated fields of the command.
+	 */
+	@Param({ "1", "10", "100" })
+	public int fields;
+
+	private RunnableCommand instance;
+	private CommandModel model;
+	private String[] args;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		var clazz = GeneratedCommands.generate(1, fields).get(0);
+		instance = (RunnableCommand) clazz.getConstructor().newInstance();
+		model = CommandModel.of(clazz);
+		args = GeneratedCommands.arguments(0, fields);
+	}
+
+	@Benchmark
+	public RunnableCommand inflate() throws Exception {
+		Inflater.inflateInstance(instance, model, args);
+		return instance;
+	}
+}
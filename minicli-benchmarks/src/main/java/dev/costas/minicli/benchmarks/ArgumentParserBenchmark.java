@@ -0,0 +1,37 @@
+package dev.costas.minicli.benchmarks;
+
+import dev.costas.minicli.defaults.ArgumentParser;
+import dev.costas.minicli.models.Invocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ArgumentParser#parse(String[])} with a typical command line and with a very large, generated one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArgumentParserBenchmark {
+	/**
+	 * The number of options passed.
+	 */
+	@Param({ "4", "10000" })
+	public int size;
+
+	private final ArgumentParser parser = new ArgumentParser();
+	private String[] args;
+
+	@Setup
+	public void setup() {
+		args = GeneratedCommands.arguments(0, size);
+	}
+
+	@Benchmark
+	public Invocation parse() {
+		return parser.parse(args);
+	}
+}
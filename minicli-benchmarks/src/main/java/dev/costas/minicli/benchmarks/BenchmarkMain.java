@@ -0,0 +1,28 @@
+package dev.costas.minicli.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the benchmarks with the JMH command line, enabling the GC profiler unless another profiler is passed, so
+ * allocations are always reported.
+ */
+public final class BenchmarkMain {
+	private BenchmarkMain() {
+	}
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args The JMH command line arguments.
+	 * @throws Exception If JMH fails to run.
+	 */
+	public static void main(String[] args) throws Exception {
+		List<String> jmhArgs = new ArrayList<>(List.of(args));
+		if (!jmhArgs.contains("-prof") && !jmhArgs.contains("-h") && !jmhArgs.contains("-l")) {
+			jmhArgs.add("-prof");
+			jmhArgs.add("gc");
+		}
+		org.openjdk.jmh.Main.main(jmhArgs.toArray(new String[0]));
+	}
+}
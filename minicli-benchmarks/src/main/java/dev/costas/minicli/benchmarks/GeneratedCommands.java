@@ -0,0 +1,118 @@
+package dev.costas.minicli.benchmarks;
+
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates, compiles and loads command classes, so benchmarks can use any number of commands and fields without
+ * writing them by hand.
+ * <p>
+ * Field {@code i} of a command is a flag when {@code i % 3 == 0}, an {@code int} parameter when {@code i % 3 == 1}
+ * and a {@code String} parameter otherwise, and every option is named {@code o<i>}.
+ */
+public final class GeneratedCommands {
+	private GeneratedCommands() {
+	}
+
+	/**
+	 * Generates the given number of commands, named {@code command<i>}.
+	 *
+	 * @param count  The number of commands.
+	 * @param fields The number of annotated fields of each command.
+	 * @return The command classes.
+	 */
+	public static List<Class<?>> generate(int count, int fields) {
+		var packageName = "dev.costas.minicli.benchmarks.generated.c" + count + "f" + fields;
+		try {
+			var directory = Files.createTempDirectory("minicli-benchmarks");
+			var sourceDirectory = directory.resolve("src").resolve(packageName.replace('.', '/'));
+			var outputDirectory = directory.resolve("out");
+			Files.createDirectories(sourceDirectory);
+			Files.createDirectories(outputDirectory);
+
+			List<String> compilerArgs = new ArrayList<>(List.of(
+				"-proc:none",
+				"-classpath", System.getProperty("java.class.path"),
+				"-d", outputDirectory.toString()
+			));
+			for (var i = 0; i < count; i++) {
+				var file = sourceDirectory.resolve("Command" + i + ".java");
+				Files.writeString(file, source(packageName, i, fields));
+				compilerArgs.add(file.toString());
+			}
+
+			var errors = new ByteArrayOutputStream();
+			var result = ToolProvider.getSystemJavaCompiler()
+				.run(null, null, errors, compilerArgs.toArray(new String[0]));
+			if (result != 0) {
+				throw new IllegalStateException("Cannot compile the generated commands:\n" + errors);
+			}
+
+			var loader = new URLClassLoader(
+				new java.net.URL[]{ outputDirectory.toUri().toURL() },
+				GeneratedCommands.class.getClassLoader()
+			);
+			List<Class<?>> classes = new ArrayList<>();
+			for (var i = 0; i < count; i++) {
+				classes.add(loader.loadClass(packageName + ".Command" + i));
+			}
+			return classes;
+		} catch (IOException | ClassNotFoundException e) {
+			throw new IllegalStateException("Cannot generate the commands", e);
+		}
+	}
+
+	/**
+	 * Gets the arguments that set every field of a generated command.
+	 *
+	 * @param command The index of the command.
+	 * @param fields  The number of annotated fields of the command.
+	 * @return The arguments, including the name of the command.
+	 */
+	public static String[] arguments(int command, int fields) {
+		List<String> args = new ArrayList<>();
+		args.add("command" + command);
+		for (var i = 0; i < fields; i++) {
+			args.add("--o" + i);
+			args.add(switch (i % 3) {
+				case 0 -> "true";
+				case 1 -> String.valueOf(i);
+				default -> "value" + i;
+			});
+		}
+		return args.toArray(new String[0]);
+	}
+
+	private static String source(String packageName, int index, int fields) {
+		var sb = new StringBuilder();
+		sb.append("package ").append(packageName).append(";\n\n");
+		sb.append("@dev.costas.minicli.annotation.Command(name = \"command").append(index)
+			.append("\", shortname = \"c").append(index)
+			.append("\", description = \"Generated command number ").append(index).append("\")\n");
+		sb.append("public class Command").append(index).append(" implements dev.costas.minicli.RunnableCommand {\n");
+		for (var i = 0; i < fields; i++) {
+			switch (i % 3) {
+				case 0 -> sb.append("\t@dev.costas.minicli.annotation.Flag(name = \"o").append(i)
+					.append("\", shortname = \"\", description = \"Flag ").append(i).append("\")\n")
+					.append("\tprivate boolean o").append(i).append(";\n");
+				case 1 -> sb.append("\t@dev.costas.minicli.annotation.Parameter(name = \"o").append(i)
+					.append("\", description = \"Number ").append(i).append("\", defaultValue = \"0\")\n")
+					.append("\tprivate int o").append(i).append(";\n");
+				default -> sb.append("\t@dev.costas.minicli.annotation.Parameter(name = \"o").append(i)
+					.append("\", description = \"Text ").append(i).append("\")\n")
+					.append("\tprivate String o").append(i).append(";\n");
+			}
+		}
+		sb.append("\tpublic dev.costas.minicli.models.CommandOutput run() {\n");
+		sb.append("\t\treturn new dev.costas.minicli.models.CommandOutput(\"Command").append(index).append("\");\n");
+		sb.append("\t}\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+}
@@ -0,0 +1,54 @@
+package dev.costas.minicli.benchmarks;
+
+import dev.costas.minicli.defaults.LinearHelpGenerator;
+import dev.costas.minicli.framework.HelpGenerator;
+import dev.costas.minicli.models.ApplicationParams;
+import dev.costas.minicli.models.CommandOutput;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link LinearHelpGenerator#show(ApplicationParams, List)} listing every command of an application, both
+ * when the help of all commands is cached and when it is rendered by a new generator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HelpGeneratorBenchmark {
+	private static final ApplicationParams PARAMS = new ApplicationParams(
+		"Benchmarks", "benchmarks", "Minicli benchmarks", "1.0.0", "Minicli", "hello@example.com", "https://example.com"
+	);
+
+	/**
+	 * The number of commands of the application.
+	 */
+	@Param({ "10", "100", "1000" })
+	public int commands;
+
+	private final HelpGenerator helpGenerator = new LinearHelpGenerator();
+	private List<Class<?>> classes;
+
+	@Setup
+	public void setup() {
+		classes = GeneratedCommands.generate(commands, 3);
+	}
+
+	@Benchmark
+	public CommandOutput show() {
+		return helpGenerator.show(PARAMS, classes);
+	}
+
+	/**
+	 * Renders the help with a new generator every time. The help of each command is still cached per class, so this
+	 * measures building the help of all commands from it.
+	 */
+	@Benchmark
+	public CommandOutput showCold() {
+		return new LinearHelpGenerator().show(PARAMS, classes);
+	}
+}
@@ -0,0 +1,55 @@
+package dev.costas.minicli.benchmarks;
+
+import dev.costas.minicli.MinicliApplication;
+import dev.costas.minicli.benchmarks.commands.EchoCommand;
+import dev.costas.minicli.models.ApplicationParams;
+import dev.costas.minicli.models.CommandOutput;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MinicliApplication#run(Class, String[])} from end to end.
+ * <p>
+ * The cold benchmark builds a new application for every run, so it includes finding the commands of the package. The
+ * warm benchmark reuses the same application, as a REPL or a batch would. The concurrent benchmark runs the warm
+ * benchmark from every available processor at once, sharing the application, to compare how it scales.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MinicliApplicationBenchmark {
+	private static final ApplicationParams PARAMS = new ApplicationParams(
+		"Benchmarks", "benchmarks", "Minicli benchmarks", "1.0.0", "Minicli", "hello@example.com", "https://example.com"
+	);
+	private static final String[] ARGS = { "echo", "--text", "Hello", "--times", "3", "-u" };
+
+	private MinicliApplication application;
+
+	@Setup
+	public void setup() {
+		application = MinicliApplication.builder().withApplicationParams(PARAMS).build();
+	}
+
+	@Benchmark
+	public CommandOutput cold() throws Exception {
+		return MinicliApplication.builder()
+			.withApplicationParams(PARAMS)
+			.build()
+			.run(EchoCommand.class, ARGS);
+	}
+
+	@Benchmark
+	public CommandOutput warm() throws Exception {
+		return application.run(EchoCommand.class, ARGS);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public CommandOutput concurrent() throws Exception {
+		return application.run(EchoCommand.class, ARGS);
+	}
+}
@@ -0,0 +1,25 @@
+package dev.costas.minicli.benchmarks.commands;
+
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.annotation.Flag;
+import dev.costas.minicli.annotation.Parameter;
+import dev.costas.minicli.models.CommandOutput;
+
+@Command(name = "echo", shortname = "e", description = "Prints the given text")
+public class EchoCommand implements RunnableCommand {
+	@Parameter(name = "text", shortname = "t", description = "The text to print")
+	private String text;
+
+	@Parameter(name = "times", description = "How many times to print the text", defaultValue = "1")
+	private int times;
+
+	@Flag(name = "upper", shortname = "u", description = "Prints the text in upper case")
+	private boolean upper;
+
+	@Override
+	public CommandOutput run() {
+		var output = (upper ? text.toUpperCase() : text).repeat(times);
+		return new CommandOutput(output);
+	}
+}
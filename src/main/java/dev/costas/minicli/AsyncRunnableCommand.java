@@ -0,0 +1,40 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.models.CommandOutput;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Interface to be implemented by commands that run asynchronously, such as those waiting on I/O, so they don't block
+ * a thread while they run.
+ * <p>
+ * When the command is run with {@link MinicliApplication#runAsync(Class, String[])}, the returned future is passed
+ * to the caller, so it is cancelled or completed exceptionally if the caller cancels it or it runs out of time. The
+ * command should stop its work when that happens.
+ *
+ * @since 2.1.0
+ */
+public interface AsyncRunnableCommand extends RunnableCommand {
+	/**
+	 * Starts the command.
+	 * @return A future completed with the output of the command.
+	 */
+	CompletableFuture<CommandOutput> runAsync();
+
+	/**
+	 * Invokes the command, waiting for it to finish.
+	 * @return The output of the command.
+	 */
+	@Override
+	default CommandOutput run() {
+		try {
+			return runAsync().join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+		}
+	}
+}
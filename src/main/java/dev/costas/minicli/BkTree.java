@@ -0,0 +1,128 @@
+package dev.costas.minicli;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Burkhard-Keller tree of words by their Levenshtein distance, used to find the known word closest to a misspelled
+ * one without comparing it against every word.
+ */
+final class BkTree {
+	private Node root;
+
+	private BkTree() {
+	}
+
+	/**
+	 * Builds a tree with the given words. Duplicated words are only added once.
+	 *
+	 * @param words The words to add.
+	 * @return The tree.
+	 */
+	static BkTree of(Collection<String> words) {
+		var tree = new BkTree();
+		for (var word : words) {
+			tree.add(word);
+		}
+		return tree;
+	}
+
+	private void add(String word) {
+		if (root == null) {
+			root = new Node(word);
+			return;
+		}
+
+		var node = root;
+		while (true) {
+			var distance = distance(word, node.word);
+			if (distance == 0) {
+				return;
+			}
+			var child = node.children.get(distance);
+			if (child == null) {
+				node.children.put(distance, new Node(word));
+				return;
+			}
+			node = child;
+		}
+	}
+
+	/**
+	 * Finds the word closest to the given one, within the given distance. Words at the same distance are ordered
+	 * alphabetically.
+	 *
+	 * @param word        The word to look for.
+	 * @param maxDistance The maximum distance to the word.
+	 * @return The closest word, or null if there is none within the distance.
+	 */
+	String closest(String word, int maxDistance) {
+		if (root == null) {
+			return null;
+		}
+
+		String best = null;
+		var bestDistance = maxDistance + 1;
+		var pending = new ArrayDeque<Node>();
+		pending.push(root);
+		while (!pending.isEmpty()) {
+			var node = pending.pop();
+			var distance = distance(word, node.word);
+			if (distance < bestDistance || (distance == bestDistance && best != null && node.word.compareTo(best) < 0)) {
+				best = node.word;
+				bestDistance = distance;
+			}
+
+			// By the triangle inequality, only children at these distances may be within the best distance
+			for (var entry : node.children.entrySet()) {
+				if (Math.abs(entry.getKey() - distance) <= bestDistance) {
+					pending.push(entry.getValue());
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Gets the maximum distance for a word to be considered a typo of another: one edit for words of up to three
+	 * letters, and two for longer ones, which covers swapping two letters.
+	 */
+	static int typoDistance(String word) {
+		return word.length() <= 3 ? 1 : 2;
+	}
+
+	/**
+	 * Gets the Levenshtein distance between two words: the number of insertions, deletions and substitutions needed to
+	 * turn one into the other.
+	 */
+	static int distance(String a, String b) {
+		var previous = new int[b.length() + 1];
+		var current = new int[b.length() + 1];
+		for (var j = 0; j <= b.length(); j++) {
+			previous[j] = j;
+		}
+
+		for (var i = 1; i <= a.length(); i++) {
+			current[0] = i;
+			for (var j = 1; j <= b.length(); j++) {
+				var substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+				current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+			}
+			var swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous[b.length()];
+	}
+
+	private static final class Node {
+		private final String word;
+		private final Map<Integer, Node> children = new HashMap<>();
+
+		private Node(String word) {
+			this.word = word;
+		}
+	}
+}
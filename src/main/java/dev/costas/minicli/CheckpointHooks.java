@@ -0,0 +1,44 @@
+package dev.costas.minicli;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+/**
+ * CRaC resource that warms up an application before a checkpoint is taken, so the restored process starts with its
+ * commands, models and bindings ready.
+ * <p>
+ * It is only referenced through {@link #register(MinicliApplication, Class)}, so the {@code org.crac} classes are not
+ * needed by applications that don't use checkpoints.
+ */
+final class CheckpointHooks implements Resource {
+	private final MinicliApplication application;
+	private final Class<?> clazz;
+
+	private CheckpointHooks(MinicliApplication application, Class<?> clazz) {
+		this.application = application;
+		this.clazz = clazz;
+	}
+
+	/**
+	 * Registers the hooks of the given application in the global CRaC context.
+	 *
+	 * @return The registered resource, which must be kept reachable by the caller.
+	 */
+	static Object register(MinicliApplication application, Class<?> clazz) {
+		var hooks = new CheckpointHooks(application, clazz);
+		Core.getGlobalContext().register(hooks);
+		return hooks;
+	}
+
+	@Override
+	public void beforeCheckpoint(Context<? extends Resource> context) {
+		application.train(clazz);
+	}
+
+	@Override
+	public void afterRestore(Context<? extends Resource> context) {
+		// Nothing to reopen for the commands. A daemon holds an open socket, which cannot be checkpointed, so it is closed
+		// before the checkpoint and started after the restore by the application, which owns it
+	}
+}
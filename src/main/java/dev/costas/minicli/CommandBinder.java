@@ -0,0 +1,333 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.exceptions.IllegalValueFormatException;
+import dev.costas.minicli.exceptions.UnsupportedParameterTypeException;
+import dev.costas.minicli.models.CommandModel;
+import dev.costas.minicli.models.Invocation;
+import dev.costas.minicli.models.OptionModel;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sets the flags and parameters of a command from an invocation. The setter of every field and the conversion of its
+ * value are resolved once per command class and set of {@link TypeConverters}, so binding is a sequence of direct
+ * stores.
+ */
+final class CommandBinder {
+	private final OptionBinding[] bindings;
+	private final Set<String> optionNames;
+	private volatile BkTree optionTree;
+
+	CommandBinder(CommandModel model, TypeConverters converters) {
+		this.bindings = new OptionBinding[model.flags().size() + model.parameters().size()];
+		var i = 0;
+		for (var flag : model.flags()) {
+			bindings[i++] = flagBinding(flag);
+		}
+		for (var parameter : model.parameters()) {
+			bindings[i++] = parameterBinding(model, parameter, converters);
+		}
+
+		var optionNames = new HashSet<String>();
+		for (var option : model.flags()) {
+			addNames(optionNames, option);
+		}
+		for (var option : model.parameters()) {
+			addNames(optionNames, option);
+		}
+		this.optionNames = Set.copyOf(optionNames);
+	}
+
+	private static void addNames(Set<String> names, OptionModel option) {
+		names.add(option.normalizedName());
+		if (option.hasShortname()) {
+			names.add(option.normalizedShortname());
+		}
+	}
+
+	/**
+	 * Gets the binder of the given command, with the built-in converters. It is built the first time it is requested,
+	 * and cached afterwards.
+	 *
+	 * @param model The model of the command.
+	 * @return The binder of the command.
+	 */
+	static CommandBinder of(CommandModel model) {
+		return TypeConverters.DEFAULT.binder(model);
+	}
+
+	/**
+	 * Gets the binder of the given command, with the given converters. It is built the first time it is requested,
+	 * and cached afterwards.
+	 *
+	 * @param model      The model of the command.
+	 * @param converters The converters of the application.
+	 * @return The binder of the command.
+	 */
+	static CommandBinder of(CommandModel model, TypeConverters converters) {
+		return converters.binder(model);
+	}
+
+	/**
+	 * Sets the flags and parameters of the given instance. Options that the command doesn't have are ignored, unless
+	 * they are rejected first with {@link #checkOptions(Invocation)}.
+	 *
+	 * @param instance   The command instance.
+	 * @param invocation The parsed invocation.
+	 */
+	void bind(Object instance, Invocation invocation) throws UnsupportedParameterTypeException, IllegalValueFormatException {
+		for (var binding : bindings) {
+			binding.bind(instance, invocation);
+		}
+	}
+
+	/**
+	 * Checks that every option of the invocation is declared by the command.
+	 *
+	 * @param invocation The parsed invocation.
+	 * @throws RuntimeException If an option is not declared, suggesting the closest option of the command if the name
+	 *                          looks misspelled.
+	 */
+	void checkOptions(Invocation invocation) {
+		checkOptions(invocation.getFlags().keySet());
+		checkOptions(invocation.getParams().keySet());
+	}
+
+	private void checkOptions(Set<String> names) {
+		for (var name : names) {
+			if (optionNames.contains(name)) {
+				continue;
+			}
+
+			var tree = optionTree;
+			if (tree == null) {
+				tree = BkTree.of(optionNames.stream().sorted().toList());
+				optionTree = tree;
+			}
+			var suggestion = tree.closest(name, BkTree.typoDistance(name));
+			var message = "Unknown option '" + option(name) + "'.";
+			throw new RuntimeException(suggestion == null ? message : message + " Did you mean '" + option(suggestion) + "'?");
+		}
+	}
+
+	private static String option(String name) {
+		return (name.length() == 1 ? "-" : "--") + name;
+	}
+
+	private static OptionBinding flagBinding(OptionModel flag) {
+		var defaultValue = (boolean) (Boolean) flag.defaultValue();
+
+		if (flag.type() == boolean.class) {
+			var setter = setter(flag.field(), boolean.class);
+			return (instance, invocation) -> {
+				var value = flagValue(flag, invocation);
+				try {
+					setter.invokeExact(instance, value == null ? defaultValue : (boolean) value);
+				} catch (Throwable e) {
+					throw new RuntimeException("Cannot set flag " + flag.field().getName(), e);
+				}
+			};
+		}
+
+		var setter = setter(flag.field(), Boolean.class);
+		return (instance, invocation) -> {
+			var value = flagValue(flag, invocation);
+			try {
+				setter.invokeExact(instance, value == null ? (Boolean) defaultValue : value);
+			} catch (Throwable e) {
+				throw new RuntimeException("Cannot set flag " + flag.field().getName(), e);
+			}
+		};
+	}
+
+	private static Boolean flagValue(OptionModel flag, Invocation invocation) {
+		// Gets the value of the flag with the long name
+		var value = invocation.getFlags().get(flag.normalizedName());
+
+		// If the value is null, gets the value of the flag with the short name (if it exists)
+		if (value == null && flag.hasShortname()) {
+			value = invocation.getFlags().get(flag.normalizedShortname());
+		}
+
+		return value;
+	}
+
+	private static OptionBinding parameterBinding(CommandModel model, OptionModel parameter, TypeConverters converters) {
+		var field = parameter.field();
+
+		var parser = converters.parser(parameter.type());
+		if (parser != null) {
+			return parameter.type() == Path.class
+				? pathBinding(parameter, parser)
+				: scalarBinding(parameter, parser, converters.requiresValue(parameter.type()));
+		}
+
+		return switch (parameter.type().getName()) {
+			case "[I" -> multiValuedBinding(parameter, MultiValues::ints);
+			case "[J" -> multiValuedBinding(parameter, MultiValues::longs);
+			case "[D" -> multiValuedBinding(parameter, MultiValues::doubles);
+			case "[Ljava.lang.String;" -> multiValuedBinding(parameter, MultiValues::strings);
+			case "java.util.List" -> {
+				if (!isListOfStrings(field)) {
+					yield (instance, invocation) -> {
+						throw new UnsupportedParameterTypeException(model.commandClass().getName(), field.getName());
+					};
+				}
+				yield multiValuedBinding(parameter, (values, separator) -> List.of(MultiValues.strings(values, separator)));
+			}
+			default -> (instance, invocation) -> {
+				throw new UnsupportedParameterTypeException(model.commandClass().getName(), field.getName());
+			};
+		};
+	}
+
+	/**
+	 * Binds a parameter with a single value, converted by a {@code (String)type} method handle combined with the
+	 * setter, so primitives are stored without boxing them.
+	 */
+	private static OptionBinding scalarBinding(OptionModel parameter, MethodHandle parser, boolean requiresValue) {
+		var field = parameter.field();
+		var convertAndSet = MethodHandles.filterArguments(setter(field, parser.type().returnType()), 1, parser);
+		var setNull = requiresValue ? null : setter(field, Object.class);
+		return (instance, invocation) -> {
+			var value = parameterValue(parameter, invocation);
+			try {
+				// Parameters that are not passed and have no default value are left null, unless they require a value
+				if (value == null && setNull != null) {
+					setNull.invokeExact(instance, (Object) null);
+				} else {
+					convertAndSet.invokeExact(instance, value);
+				}
+			} catch (RuntimeException e) {
+				throw new IllegalValueFormatException(field.getName(), value);
+			} catch (Throwable e) {
+				throw new RuntimeException("Cannot set parameter " + field.getName(), e);
+			}
+		};
+	}
+
+	/**
+	 * Binds a path parameter, resolving relative paths against the working directory of the invocation if it has one.
+	 */
+	private static OptionBinding pathBinding(OptionModel parameter, MethodHandle parser) {
+		var field = parameter.field();
+		var setter = setter(field, Object.class);
+		var convert = parser.asType(MethodType.methodType(Object.class, String.class));
+		return (instance, invocation) -> {
+			var value = parameterValue(parameter, invocation);
+			Object path = null;
+			if (value != null) {
+				try {
+					path = convert.invokeExact(value);
+				} catch (RuntimeException e) {
+					throw new IllegalValueFormatException(field.getName(), value);
+				} catch (Throwable e) {
+					throw new RuntimeException("Cannot convert parameter " + field.getName(), e);
+				}
+				var workingDirectory = invocation.getWorkingDirectory();
+				if (workingDirectory != null && path != null) {
+					path = workingDirectory.resolve((Path) path);
+				}
+			}
+			try {
+				setter.invokeExact(instance, path);
+			} catch (Throwable e) {
+				throw new RuntimeException("Cannot set parameter " + field.getName(), e);
+			}
+		};
+	}
+
+	/**
+	 * Binds every value of a multi-valued parameter, with the values of both its name and its short name, or the
+	 * default value if it was not passed at all.
+	 */
+	private static OptionBinding multiValuedBinding(OptionModel parameter, MultiValueParser parser) {
+		var field = parameter.field();
+		var setter = setter(field, Object.class);
+		var defaultValues = parameter.defaultValue() == null ? List.<String>of() : List.of((String) parameter.defaultValue());
+		return (instance, invocation) -> {
+			var values = parameter.hasShortname()
+				? invocation.getParameters(parameter.normalizedName(), parameter.normalizedShortname())
+				: invocation.getParameters(parameter.normalizedName());
+			if (values.isEmpty()) {
+				values = defaultValues;
+			}
+
+			Object parsed = null;
+			if (!values.isEmpty()) {
+				try {
+					parsed = parser.parse(values, parameter.separator());
+				} catch (NumberFormatException e) {
+					// The message is the element that cannot be parsed
+					throw new IllegalValueFormatException(field.getName(), e.getMessage());
+				}
+			}
+			try {
+				setter.invokeExact(instance, parsed);
+			} catch (Throwable e) {
+				throw new RuntimeException("Cannot set parameter " + field.getName(), e);
+			}
+		};
+	}
+
+	private static boolean isListOfStrings(Field field) {
+		return field.getGenericType() instanceof ParameterizedType type
+			&& type.getActualTypeArguments()[0] == String.class;
+	}
+
+	private static String parameterValue(OptionModel parameter, Invocation invocation) {
+		var value = invocation.getParams().get(parameter.normalizedName());
+
+		// If the value is null, it means that the parameter was not passed, try with the short name
+		if (value == null && parameter.hasShortname()) {
+			value = invocation.getParams().get(parameter.normalizedShortname());
+		}
+
+		// If the value is null, it means that the parameter was not passed, use the default value
+		if (value == null) {
+			value = (String) parameter.defaultValue();
+		}
+
+		return value;
+	}
+
+	/**
+	 * Gets a setter for the given field, adapted to the {@code (Object, valueType)void} type so it can be called with
+	 * {@link MethodHandle#invokeExact}.
+	 */
+	private static MethodHandle setter(Field field, Class<?> valueType) {
+		MethodHandle setter;
+		try {
+			setter = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectSetter(field);
+		} catch (IllegalAccessException e) {
+			// Final fields can only be written through an accessible copy of the field
+			try {
+				var copy = field.getDeclaringClass().getDeclaredField(field.getName());
+				copy.setAccessible(true);
+				setter = MethodHandles.lookup().unreflectSetter(copy);
+			} catch (ReflectiveOperationException | RuntimeException inner) {
+				e.addSuppressed(inner);
+				throw new RuntimeException("Cannot access field " + field.getName(), e);
+			}
+		}
+		return setter.asType(MethodType.methodType(void.class, Object.class, valueType));
+	}
+
+	@FunctionalInterface
+	private interface MultiValueParser {
+		Object parse(List<String> values, String separator);
+	}
+
+	@FunctionalInterface
+	private interface OptionBinding {
+		void bind(Object instance, Invocation invocation) throws UnsupportedParameterTypeException, IllegalValueFormatException;
+	}
+}
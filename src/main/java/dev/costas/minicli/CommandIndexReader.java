@@ -0,0 +1,84 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.framework.CommandIndex;
+import dev.costas.minicli.models.CommandDescriptor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+final class CommandIndexReader {
+	private CommandIndexReader() {
+	}
+
+	/**
+	 * Reads the {@value CommandIndex#RESOURCE} indexes generated by the annotation processor and gets the commands in
+	 * the given package. Command classes are only loaded, without initializing them, for lines written by older
+	 * versions, which have no command names.
+	 * <p>
+	 * The indexes are trusted as they are: an incremental or partial compile may write an index listing only the
+	 * commands it compiled, and the missing commands are not found until the next full build.
+	 *
+	 * @param prefix The package to get the commands from. It also includes subpackages.
+	 * @param loader The class loader to read the indexes and load the classes with.
+	 * @return The descriptors of the commands, or null if no index in the classpath lists a command in the package, such
+	 * as when the only indexes belong to libraries.
+	 */
+	static List<CommandDescriptor> read(String prefix, ClassLoader loader) {
+		Set<String> lines = new LinkedHashSet<>();
+
+		try {
+			var resources = loader.getResources(CommandIndex.RESOURCE);
+			while (resources.hasMoreElements()) {
+				readResource(resources.nextElement(), lines);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Cannot read the command index " + CommandIndex.RESOURCE, e);
+		}
+
+		List<CommandDescriptor> descriptors = new ArrayList<>();
+		for (var line : lines) {
+			var columns = line.split("\t");
+			var className = columns[0];
+			if (!inPackage(className, prefix)) {
+				continue;
+			}
+			if (columns.length > 1) {
+				descriptors.add(new CommandDescriptor(className, columns[1], columns.length > 2 ? columns[2] : ""));
+				continue;
+			}
+			try {
+				descriptors.add(CommandDescriptor.of(Class.forName(className, false, loader)));
+			} catch (ClassNotFoundException e) {
+				throw new RuntimeException("Cannot load indexed command class " + className, e);
+			}
+		}
+		return descriptors.isEmpty() ? null : descriptors;
+	}
+
+	/**
+	 * Checks whether a class is in the given package or one of its subpackages, so a package such as
+	 * {@code com.example.app} doesn't match {@code com.example.application}.
+	 */
+	static boolean inPackage(String className, String prefix) {
+		return prefix.isEmpty() || className.startsWith(prefix) && className.length() > prefix.length() && className.charAt(prefix.length()) == '.';
+	}
+
+	private static void readResource(URL resource, Set<String> lines) throws IOException {
+		try (var reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.strip();
+				if (!line.isEmpty() && !line.startsWith("#")) {
+					lines.add(line);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.framework.Instantiator;
+import dev.costas.minicli.models.CommandModel;
+import dev.costas.minicli.models.Scope;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Gets the instances of the commands of an application from its {@link Instantiator}, reusing them as their
+ * {@link Scope} allows.
+ * <p>
+ * It is safe to use from several threads. Singletons are shared by every thread, while pooled instances are only used
+ * by one invocation at a time.
+ */
+final class CommandInstances {
+	private final Instantiator instantiator;
+	private final Scope defaultScope;
+	private final Map<Class<?>, Object> singletons = new ConcurrentHashMap<>();
+	private final Map<Class<?>, Queue<Object>> pools = new ConcurrentHashMap<>();
+
+	/**
+	 * @param instantiator The instantiator creating the instances.
+	 * @param defaultScope The scope of the commands that use {@link Scope#DEFAULT}.
+	 */
+	CommandInstances(Instantiator instantiator, Scope defaultScope) {
+		this.instantiator = instantiator;
+		this.defaultScope = defaultScope == Scope.DEFAULT ? Scope.PROTOTYPE : defaultScope;
+	}
+
+	/**
+	 * Gets an instance of the given command. It must be given back with {@link #release(CommandModel, Object)} once it
+	 * finishes running.
+	 *
+	 * @param model The model of the command.
+	 * @return An instance of the command.
+	 */
+	Object acquire(CommandModel model) {
+		var clazz = model.commandClass();
+		return switch (scopeOf(model)) {
+			case SINGLETON -> {
+				// Looked up first, since computeIfAbsent may lock even when the instance exists
+				var instance = singletons.get(clazz);
+				yield instance != null ? instance : singletons.computeIfAbsent(clazz, instantiator::getInstance);
+			}
+			case POOLED -> {
+				var pool = pools.get(clazz);
+				if (pool == null) {
+					pool = pools.computeIfAbsent(clazz, c -> new ConcurrentLinkedQueue<>());
+				}
+				var instance = pool.poll();
+				yield instance != null ? instance : instantiator.getInstance(clazz);
+			}
+			default -> instantiator.getInstance(clazz);
+		};
+	}
+
+	/**
+	 * Gives back an instance that finished running, so it can be reused by a later invocation.
+	 *
+	 * @param model    The model of the command, or null if it is a built-in command.
+	 * @param instance The instance got from {@link #acquire(CommandModel)}.
+	 */
+	void release(CommandModel model, Object instance) {
+		// Built-in commands have no model
+		if (model != null && scopeOf(model) == Scope.POOLED) {
+			pools.get(model.commandClass()).offer(instance);
+		}
+	}
+
+	private Scope scopeOf(CommandModel model) {
+		return model.scope() == Scope.DEFAULT ? defaultScope : model.scope();
+	}
+}
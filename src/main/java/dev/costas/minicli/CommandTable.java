@@ -0,0 +1,161 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.models.CommandDescriptor;
+import dev.costas.minicli.models.CommandModel;
+import dev.costas.minicli.models.Invocation;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The commands found in a package. It is built once per package and reused by every invocation.
+ * <p>
+ * Commands are dispatched by the names in their descriptors, so the class of a command is only loaded when it is
+ * invoked, and the classes of every command only when all of them are needed, such as for the help.
+ */
+final class CommandTable {
+	private static final List<String> FORBIDDEN_COMMANDS = List.of(
+		"h", "help", "q", "quit", "exit", "v", "version", Completion.COMPLETE_COMMAND, Completion.SCRIPT_COMMAND
+	);
+
+	private final ClassLoader loader;
+	private final List<Entry> entries;
+	private final Map<String, Entry> dispatch;
+	private volatile List<CommandModel> models;
+	private volatile List<Class<?>> classes;
+	private volatile BkTree names;
+	private volatile CompletionTrie completions;
+
+	/**
+	 * Creates a table with the given commands, ignoring those that use the name of a built-in command.
+	 *
+	 * @param descriptors The descriptors of the commands.
+	 * @param loader      The class loader to load the command classes with.
+	 * @throws RuntimeException If several commands share a name or short name.
+	 */
+	CommandTable(List<CommandDescriptor> descriptors, ClassLoader loader) {
+		this.loader = loader;
+		this.entries = descriptors.stream()
+			.map(Entry::new)
+			.filter(e -> !FORBIDDEN_COMMANDS.contains(e.normalizedName) && !FORBIDDEN_COMMANDS.contains(e.normalizedShortname))
+			.toList();
+
+		var dispatch = new HashMap<String, Entry>();
+		for (var entry : this.entries) {
+			register(dispatch, entry.normalizedName, entry);
+			if (!entry.normalizedShortname.isEmpty()) {
+				register(dispatch, entry.normalizedShortname, entry);
+			}
+		}
+		this.dispatch = Map.copyOf(dispatch);
+	}
+
+	private static void register(Map<String, Entry> dispatch, String name, Entry entry) {
+		var existing = dispatch.putIfAbsent(name, entry);
+		if (existing != null && existing != entry) {
+			throw new RuntimeException(
+				"Multiple commands with the same name found: '" + name + "' is used by "
+					+ existing.descriptor.className() + " and " + entry.descriptor.className() + "."
+			);
+		}
+	}
+
+	/**
+	 * Gets the classes of the commands, loading all of them.
+	 */
+	List<Class<?>> getClasses() {
+		var classes = this.classes;
+		if (classes == null) {
+			classes = getModels().stream().<Class<?>>map(CommandModel::commandClass).toList();
+			this.classes = classes;
+		}
+		return classes;
+	}
+
+	/**
+	 * Gets the models of the commands, loading all of them.
+	 */
+	List<CommandModel> getModels() {
+		var models = this.models;
+		if (models == null) {
+			models = entries.stream().map(this::model).toList();
+			this.models = models;
+		}
+		return models;
+	}
+
+	/**
+	 * Gets the command that matches the given name, loading only its class.
+	 *
+	 * @param name The name or short name of the command.
+	 * @return The model of the command, or null if there is none with that name.
+	 */
+	CommandModel getCommand(String name) {
+		var entry = dispatch.get(Invocation.normalize(name));
+		return entry == null ? null : model(entry);
+	}
+
+	/**
+	 * Gets the name or short name of a command that is close to the given name, to suggest it when the name is
+	 * misspelled. No command class is loaded.
+	 *
+	 * @param name The name of a command that doesn't exist.
+	 * @return The closest name of a command, or null if none is close enough.
+	 */
+	String suggest(String name) {
+		var names = this.names;
+		if (names == null) {
+			names = BkTree.of(dispatch.keySet().stream().sorted().toList());
+			this.names = names;
+		}
+		var normalized = Invocation.normalize(name);
+		return names.closest(normalized, BkTree.typoDistance(normalized));
+	}
+
+	/**
+	 * Gets the names of the commands starting with the given prefix, in alphabetical order. No command class is
+	 * loaded.
+	 *
+	 * @param prefix The first letters of the name.
+	 * @return The names of the matching commands.
+	 */
+	List<String> complete(String prefix) {
+		var completions = this.completions;
+		if (completions == null) {
+			completions = CompletionTrie.of(entries.stream().map(e -> e.normalizedName).toList());
+			this.completions = completions;
+		}
+		return completions.complete(Invocation.normalize(prefix));
+	}
+
+	private CommandModel model(Entry entry) {
+		var model = entry.model;
+		if (model == null) {
+			var className = entry.descriptor.className();
+			try {
+				model = CommandModel.of(Class.forName(className, false, loader));
+			} catch (ClassNotFoundException e) {
+				throw new RuntimeException("Cannot load command class " + className, e);
+			}
+			entry.model = model;
+		}
+		return model;
+	}
+
+	/**
+	 * A command of the table, with its model once its class is loaded.
+	 */
+	private static final class Entry {
+		private final CommandDescriptor descriptor;
+		private final String normalizedName;
+		private final String normalizedShortname;
+		private volatile CommandModel model;
+
+		Entry(CommandDescriptor descriptor) {
+			this.descriptor = descriptor;
+			this.normalizedName = Invocation.normalize(descriptor.name());
+			this.normalizedShortname = Invocation.normalize(descriptor.shortname());
+		}
+	}
+}
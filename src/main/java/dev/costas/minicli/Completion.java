@@ -0,0 +1,131 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.models.CommandModel;
+import dev.costas.minicli.models.Invocation;
+import dev.costas.minicli.models.OptionModel;
+import dev.costas.minicli.models.Shell;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shell completion of command names and options, answered by the hidden {@value #COMPLETE_COMMAND} built-in command
+ * that the scripts generated by {@link #script(Shell, String)} call on every completion.
+ * <p>
+ * Command names are completed from the names of the command table, so no command class is loaded, and options from
+ * the model of the command being completed, which loads its class without initializing it.
+ */
+final class Completion {
+	/**
+	 * The hidden built-in command answering completions. Its arguments are the words typed after the executable,
+	 * the last one being the word to complete, and its output has one candidate per line.
+	 */
+	static final String COMPLETE_COMMAND = "__complete";
+	/**
+	 * The hidden built-in command printing the completion script of a shell.
+	 */
+	static final String SCRIPT_COMMAND = "__completion";
+
+	private static final List<String> BUILT_IN_COMMANDS = List.of("help", "version");
+	private static final ClassValue<CompletionTrie> OPTIONS = new ClassValue<>() {
+		@Override
+		protected CompletionTrie computeValue(Class<?> type) {
+			var model = CommandModel.of(type);
+			List<String> options = new ArrayList<>();
+			options.add("--help");
+			for (var flag : model.flags()) {
+				options.add("--" + flag.name());
+			}
+			for (var parameter : model.parameters()) {
+				options.add("--" + parameter.name());
+			}
+			return CompletionTrie.of(options);
+		}
+	};
+
+	private Completion() {
+	}
+
+	/**
+	 * Gets the candidates to complete the last of the given words.
+	 *
+	 * @param commands The commands of the application.
+	 * @param words    The words typed after the executable, the last one being the word to complete, which may be
+	 *                 empty.
+	 * @return The candidates, one per line.
+	 */
+	static String complete(CommandTable commands, List<String> words) {
+		if (words.isEmpty()) {
+			words = List.of("");
+		}
+		var current = words.get(words.size() - 1);
+
+		List<String> candidates = new ArrayList<>();
+		if (words.size() == 1) {
+			candidates.addAll(commands.complete(current));
+			var prefix = Invocation.normalize(current);
+			BUILT_IN_COMMANDS.stream().filter(c -> c.startsWith(prefix)).forEach(candidates::add);
+		} else if (words.size() == 2 && (words.get(0).equals("help") || words.get(0).equals("h"))) {
+			candidates.addAll(commands.complete(current));
+		} else {
+			var model = commands.getCommand(words.get(0));
+			if (model != null && !expectsValue(model, words.get(words.size() - 2))) {
+				candidates.addAll(OPTIONS.get(model.commandClass()).complete(current.startsWith("-") ? current : "--" + current));
+			}
+		}
+		return String.join("\n", candidates);
+	}
+
+	/**
+	 * Whether the given word is a parameter, so the next word is its value rather than an option.
+	 */
+	private static boolean expectsValue(CommandModel model, String word) {
+		if (!word.startsWith("-")) {
+			return false;
+		}
+		var name = Invocation.normalize(word.substring(word.startsWith("--") ? 2 : 1));
+		for (OptionModel parameter : model.parameters()) {
+			if (parameter.normalizedName().equals(name) || (parameter.hasShortname() && parameter.normalizedShortname().equals(name))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Generates the completion script of the given shell, which calls the executable with {@value #COMPLETE_COMMAND}
+	 * to get the candidates.
+	 *
+	 * @param shell      The shell to generate the script for.
+	 * @param executable The command running the application, as typed in the shell.
+	 * @return The script, to be sourced by the shell.
+	 */
+	static String script(Shell shell, String executable) {
+		var function = "_minicli_" + executable.replaceAll("[^A-Za-z0-9_]", "_");
+		return switch (shell) {
+			case BASH -> """
+				%1$s() {
+				    local IFS=$'\\n'
+				    COMPREPLY=($(%2$s %3$s "${COMP_WORDS[@]:1:$COMP_CWORD}" 2>/dev/null))
+				}
+				complete -o default -F %1$s %2$s
+				""".formatted(function, executable, COMPLETE_COMMAND);
+			case ZSH -> """
+				#compdef %2$s
+				%1$s() {
+				    local -a candidates
+				    candidates=("${(@f)$(%2$s %3$s "${(@)words[2,$CURRENT]}" 2>/dev/null)}")
+				    compadd -a candidates
+				}
+				compdef %1$s %2$s
+				""".formatted(function, executable, COMPLETE_COMMAND);
+			case FISH -> """
+				function %1$s
+				    set -l words (commandline -opc)
+				    %2$s %3$s $words[2..-1] (commandline -ct) 2>/dev/null
+				end
+				complete -c %2$s -f -a '(%1$s)'
+				""".formatted(function, executable, COMPLETE_COMMAND);
+		};
+	}
+}
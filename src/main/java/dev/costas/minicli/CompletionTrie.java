@@ -0,0 +1,72 @@
+package dev.costas.minicli;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Prefix tree of words, used to complete a word from its first letters without comparing it against every word.
+ */
+final class CompletionTrie {
+	private final Node root = new Node();
+
+	private CompletionTrie() {
+	}
+
+	/**
+	 * Builds a trie with the given words.
+	 *
+	 * @param words The words to add.
+	 * @return The trie.
+	 */
+	static CompletionTrie of(Collection<String> words) {
+		var trie = new CompletionTrie();
+		for (var word : words) {
+			var node = trie.root;
+			for (var i = 0; i < word.length(); i++) {
+				node = node.children.computeIfAbsent(word.charAt(i), c -> new Node());
+			}
+			node.word = word;
+		}
+		return trie;
+	}
+
+	/**
+	 * Gets the words starting with the given prefix, in alphabetical order.
+	 *
+	 * @param prefix The first letters of the words.
+	 * @return The words starting with the prefix.
+	 */
+	List<String> complete(String prefix) {
+		var node = root;
+		for (var i = 0; i < prefix.length() && node != null; i++) {
+			node = node.children.get(prefix.charAt(i));
+		}
+
+		List<String> words = new ArrayList<>();
+		if (node == null) {
+			return words;
+		}
+
+		var pending = new ArrayDeque<Node>();
+		pending.push(node);
+		while (!pending.isEmpty()) {
+			var current = pending.pop();
+			if (current.word != null) {
+				words.add(current.word);
+			}
+			// Pushed in reverse, so children are visited in alphabetical order
+			for (var child : current.children.descendingMap().values()) {
+				pending.push(child);
+			}
+		}
+		return words;
+	}
+
+	private static final class Node {
+		private final TreeMap<Character, Node> children = new TreeMap<>();
+		private String word;
+	}
+}
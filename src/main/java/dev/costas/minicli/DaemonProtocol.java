@@ -0,0 +1,174 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.models.ClientRequest;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * The protocol spoken by {@link MinicliClient} and {@link MinicliDaemon} over a Unix domain socket.
+ * <p>
+ * The client sends a single request: a magic number, the working directory, the environment variables and the
+ * arguments. Strings are sent as their length followed by their bytes in UTF-8. The daemon answers with any number of
+ * output frames, a {@link #OUTPUT} byte followed by the length and the bytes of the output, and ends with an
+ * {@link #EXIT} byte followed by the exit code.
+ */
+final class DaemonProtocol {
+	/**
+	 * The exit code of a successful command.
+	 */
+	static final int EXIT_SUCCESS = 0;
+	/**
+	 * The exit code of a command whose output is unsuccessful.
+	 */
+	static final int EXIT_FAILURE = 1;
+	/**
+	 * The exit code of a command that could not be run, such as an unknown command or an invalid option.
+	 */
+	static final int EXIT_ERROR = 2;
+
+	static final byte OUTPUT = 'O';
+	static final byte EXIT = 'X';
+
+	/**
+	 * "MCL1", the start of every request.
+	 */
+	private static final int MAGIC = 0x4d434c31;
+	private static final int MAX_STRING_LENGTH = 16 * 1024 * 1024;
+	/**
+	 * The most environment variables or arguments in a request, far above what an operating system passes to a process,
+	 * so a malformed count doesn't allocate a huge list up front.
+	 */
+	private static final int MAX_COUNT = 64 * 1024;
+	private static final int FRAME_SIZE = 8 * 1024;
+
+	private DaemonProtocol() {
+	}
+
+	static void writeRequest(DataOutputStream out, ClientRequest request) throws IOException {
+		out.writeInt(MAGIC);
+		writeString(out, request.workingDirectory().toString());
+		out.writeInt(request.environment().size());
+		for (var variable : request.environment().entrySet()) {
+			writeString(out, variable.getKey());
+			writeString(out, variable.getValue());
+		}
+		out.writeInt(request.args().size());
+		for (var arg : request.args()) {
+			writeString(out, arg);
+		}
+		out.flush();
+	}
+
+	static ClientRequest readRequest(DataInputStream in) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Malformed request: not a Minicli client");
+		}
+		var workingDirectory = Path.of(readString(in));
+
+		var variables = readCount(in);
+		var environment = new HashMap<String, String>(variables * 2);
+		for (var i = 0; i < variables; i++) {
+			environment.put(readString(in), readString(in));
+		}
+
+		var argc = readCount(in);
+		List<String> args = new ArrayList<>(argc);
+		for (var i = 0; i < argc; i++) {
+			args.add(readString(in));
+		}
+		return new ClientRequest(args, environment, workingDirectory);
+	}
+
+	static void writeExit(DataOutputStream out, int code) throws IOException {
+		out.writeByte(EXIT);
+		out.writeInt(code);
+		out.flush();
+	}
+
+	static void writeString(DataOutputStream out, String value) throws IOException {
+		var bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	static String readString(DataInputStream in) throws IOException {
+		return new String(readBytes(in), StandardCharsets.UTF_8);
+	}
+
+	static byte[] readBytes(DataInputStream in) throws IOException {
+		var length = in.readInt();
+		if (length < 0 || length > MAX_STRING_LENGTH) {
+			throw new IOException("Malformed message: string of " + length + " bytes");
+		}
+		var bytes = in.readNBytes(length);
+		if (bytes.length < length) {
+			throw new IOException("Malformed message: connection closed mid-string");
+		}
+		return bytes;
+	}
+
+	private static int readCount(DataInputStream in) throws IOException {
+		var count = in.readInt();
+		if (count < 0 || count > MAX_COUNT) {
+			throw new IOException("Malformed message: " + count + " elements");
+		}
+		return count;
+	}
+
+	/**
+	 * Writes the output of a command as output frames, sending a frame whenever enough output is buffered or the
+	 * writer is flushed.
+	 */
+	static final class OutputWriter extends Writer {
+		private final DataOutputStream out;
+		private final StringBuilder buffer = new StringBuilder(FRAME_SIZE);
+
+		OutputWriter(DataOutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void write(char[] chars, int offset, int length) throws IOException {
+			buffer.append(chars, offset, length);
+			if (buffer.length() >= FRAME_SIZE) {
+				sendFrame();
+			}
+		}
+
+		@Override
+		public void write(String str, int offset, int length) throws IOException {
+			buffer.append(str, offset, offset + length);
+			if (buffer.length() >= FRAME_SIZE) {
+				sendFrame();
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			sendFrame();
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+
+		private void sendFrame() throws IOException {
+			if (buffer.length() == 0) {
+				return;
+			}
+			out.writeByte(OUTPUT);
+			writeString(out, buffer.toString());
+			buffer.setLength(0);
+		}
+	}
+}
@@ -1,121 +1,49 @@
 package dev.costas.minicli;
 
-import dev.costas.minicli.annotation.Flag;
-import dev.costas.minicli.annotation.Parameter;
 import dev.costas.minicli.defaults.ArgumentParser;
 import dev.costas.minicli.exceptions.HelpException;
 import dev.costas.minicli.exceptions.IllegalValueFormatException;
 import dev.costas.minicli.exceptions.UnsupportedParameterTypeException;
-import dev.costas.minicli.models.Invocation;
+import dev.costas.minicli.models.CommandModel;
 
-import java.lang.reflect.Field;
+import java.nio.file.Path;
 
 final class Inflater {
 	/**
 	 * Receives a class instance and injects the parameters and flags from the given arguments.
 	 *
 	 * @param instance The instance to inject the parameters and flags.
+	 * @param model    The model of the command class.
 	 * @param args     The arguments to parse.
 	 */
-	static void inflateInstance(RunnableCommand instance, String[] args) throws IllegalAccessException, NumberFormatException, HelpException, UnsupportedParameterTypeException, IllegalValueFormatException {
-		ArgumentParser argumentParser = new ArgumentParser();
-		var invocation = argumentParser.parse(args);
-		var clazz = instance.getClass();
-
-		if (invocation.getFlags().containsKey("help") || invocation.getFlags().containsKey("h")) {
-			throw new HelpException(clazz);
-		}
-
-		for (Field field : clazz.getDeclaredFields()) {
-			var flagAnnotation = field.getAnnotation(Flag.class);
-			if (flagAnnotation != null) {
-				if (flagAnnotation.name().equals("")) {
-					throw new RuntimeException("Flag name cannot be empty.");
-				}
-
-				if (flagAnnotation.name().equals("help")) {
-					throw new RuntimeException("Flag name cannot be 'help'.");
-				}
-
-				inflateFlag(field, instance, invocation);
-				continue; // Skip the parameter injection since flags cannot be parameters.
-			}
-
-			var parameterAnnotation = field.getAnnotation(Parameter.class);
-			if (parameterAnnotation != null) {
-				if (parameterAnnotation.name().equals("")) {
-					throw new RuntimeException("Parameter name cannot be empty.");
-				}
-
-				if (parameterAnnotation.name().equals("help") || parameterAnnotation.name().equals("h") || parameterAnnotation.shortname().equals("h")) {
-					throw new RuntimeException("Parameter name cannot be 'help'.");
-				}
-
-				inflateParameter(field, instance, invocation);
-			}
-		}
-	}
-
-	static void inflateFlag(Field field, Object instance, Invocation invocation) throws IllegalAccessException {
-		// Gets the annotation
-		var flag = field.getAnnotation(Flag.class);
-
-		// Must be a boolean, otherwise it's not a flag
-		if (field.getType() != boolean.class && field.getType() != Boolean.class) {
-			throw new RuntimeException("Flag " + field.getName() + " must be a boolean.");
-		}
-
-		// Gets the value of the flag with the long name
-		var value = invocation.getFlag(flag.name());
-
-		// If the value is null, gets the value of the flag with the short name (if it exists)
-		if (value == null) {
-			value = invocation.getFlag(flag.shortname());
-		}
-
-		// If the value is null, it means that the flag was not passed, use the default value
-		if (value == null) {
-			value = flag.defaultValue();
-		}
-
-		field.setAccessible(true);
-		field.set(instance, value);
-		field.setAccessible(false);
+	static void inflateInstance(RunnableCommand instance, CommandModel model, String[] args) throws NumberFormatException, HelpException, UnsupportedParameterTypeException, IllegalValueFormatException {
+		inflateInstance(instance, model, args, new ArgumentParser(), TypeConverters.DEFAULT, false, null);
 	}
 
-	static void inflateParameter(Field field, RunnableCommand instance, Invocation invocation) throws IllegalAccessException, NumberFormatException, UnsupportedParameterTypeException, IllegalValueFormatException {
-		// Gets the annotation
-		var parameterAnnotation = field.getAnnotation(Parameter.class);
-		var value = invocation.getParameter(parameterAnnotation.name());
-
-		// If the value is null, it means that the parameter was not passed, try with the short name
-		if (value == null) {
-			value = invocation.getParameter(parameterAnnotation.shortname());
-		}
+	/**
+	 * Receives a class instance and injects the parameters and flags from the given arguments, parsing them with the
+	 * given parser and converting their values with the given converters.
+	 *
+	 * @param instance         The instance to inject the parameters and flags.
+	 * @param model            The model of the command class.
+	 * @param args             The arguments to parse.
+	 * @param parser           The parser of the application.
+	 * @param converters       The converters of the application.
+	 * @param strictOptions    Whether options the command doesn't declare are rejected instead of ignored.
+	 * @param workingDirectory The directory to resolve relative paths against, or null for the working directory of
+	 *                         the process.
+	 */
+	static void inflateInstance(RunnableCommand instance, CommandModel model, String[] args, ArgumentParser parser, TypeConverters converters, boolean strictOptions, Path workingDirectory) throws NumberFormatException, HelpException, UnsupportedParameterTypeException, IllegalValueFormatException {
+		var invocation = parser.parse(args, workingDirectory);
 
-		// If the value is null, it means that the parameter was not passed, use the default value and throw if required
-		if (value == null) {
-			value = invocation.getParameter(parameterAnnotation.defaultValue());
+		if (invocation.getFlags().containsKey("help") || invocation.getFlags().containsKey("h")) {
+			throw new HelpException(model.commandClass());
 		}
 
-		// Try to parse the value to the correct type and set it to the field
-		field.setAccessible(true);
-		try {
-
-
-			switch (field.getType().getName()) {
-				case "java.lang.String" -> field.set(instance, value);
-				case "int", "java.lang.Integer" -> field.set(instance, Integer.parseInt(value));
-				case "long", "java.lang.Long" -> field.set(instance, Long.parseLong(value));
-				case "float", "java.lang.Float" -> field.set(instance, Float.parseFloat(value));
-				case "double", "java.lang.Double" -> field.set(instance, Double.parseDouble(value));
-				default -> throw new UnsupportedParameterTypeException(
-					instance.getClass().getName(), field.getName()
-				);
-			}
-		} catch (NumberFormatException e) {
-			throw new IllegalValueFormatException(field.getName(), value);
+		var binder = CommandBinder.of(model, converters);
+		if (strictOptions) {
+			binder.checkOptions(invocation);
 		}
-		field.setAccessible(false);
+		binder.bind(instance, invocation);
 	}
 }
@@ -1,29 +1,82 @@
 package dev.costas.minicli;
 
 import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.defaults.ArgumentParser;
+import dev.costas.minicli.defaults.ArgumentTokenizer;
 import dev.costas.minicli.exceptions.HelpException;
 import dev.costas.minicli.exceptions.IllegalValueFormatException;
 import dev.costas.minicli.exceptions.QuitException;
 import dev.costas.minicli.exceptions.UnsupportedParameterTypeException;
 import dev.costas.minicli.framework.CommandExecutor;
+import dev.costas.minicli.framework.CommandIndex;
 import dev.costas.minicli.framework.HelpGenerator;
 import dev.costas.minicli.framework.Instantiator;
 import dev.costas.minicli.models.ApplicationParams;
+import dev.costas.minicli.models.BatchOptions;
+import dev.costas.minicli.models.BatchResult;
+import dev.costas.minicli.models.CommandDescriptor;
+import dev.costas.minicli.models.CommandModel;
 import dev.costas.minicli.models.CommandOutput;
+import dev.costas.minicli.models.ErrorPolicy;
+import dev.costas.minicli.models.HelpQuery;
+import dev.costas.minicli.models.Scope;
+import dev.costas.minicli.models.Shell;
 import org.reflections.Reflections;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 /**
  * The main class of the application.
+ * <p>
+ * An application is thread-safe, so a single instance can run commands from many threads at once, for example when it
+ * is embedded in a server. The commands of a package, their models and their bindings are immutable once built and
+ * are shared by every thread without locking, while the arguments, the parsed invocation and the command instance
+ * belong to a single invocation. Only commands with the {@link Scope#SINGLETON} scope are shared between threads, so
+ * they must be thread-safe themselves, or only run from one thread at a time.
  *
  * @since 1.0.0
  */
 public class MinicliApplication {
+	private static final int BATCH_BUFFER_SIZE = 64 * 1024;
+
 	private final CommandExecutor commandExecutor;
 	private final HelpGenerator helpGenerator;
 	private final ApplicationParams application;
-	private final Instantiator instantiator;
+	private final CommandInstances instances;
+	private final CommandIndex commandIndex;
+	private final Executor asyncExecutor;
+	private final ScanCache scanCache;
+	private final TypeConverters converters;
+	private final ArgumentParser argumentParser;
+	private final boolean strictOptions;
+	private final List<Object> checkpointHooks = new CopyOnWriteArrayList<>();
+	private final Map<String, CommandTable> commandTables = new ConcurrentHashMap<>();
 
 	/**
 	 * Creates a new instance of the application.
@@ -37,7 +90,31 @@ public class MinicliApplication {
 		this.commandExecutor = commandExecutor;
 		this.helpGenerator = helpGenerator;
 		this.application = application;
-		this.instantiator = instantiator;
+		this.instances = new CommandInstances(instantiator, Scope.PROTOTYPE);
+		this.commandIndex = null;
+		this.asyncExecutor = ForkJoinPool.commonPool();
+		this.scanCache = null;
+		this.converters = TypeConverters.DEFAULT;
+		this.argumentParser = new ArgumentParser();
+		this.strictOptions = false;
+	}
+
+	/**
+	 * Creates a new instance of the application from the configuration of the given builder.
+	 *
+	 * @param builder The builder with the configuration.
+	 */
+	MinicliApplication(MinicliApplicationBuilder builder) {
+		this.commandExecutor = builder.getCommandExecutor();
+		this.helpGenerator = builder.getHelpGenerator();
+		this.application = builder.getApplicationParams();
+		this.instances = new CommandInstances(builder.getInstantiator(), builder.getDefaultScope());
+		this.commandIndex = builder.getCommandIndex();
+		this.asyncExecutor = builder.getAsyncExecutor();
+		this.scanCache = builder.getScanCache();
+		this.converters = builder.getTypeConverters();
+		this.argumentParser = new ArgumentParser(builder.isArgumentFiles());
+		this.strictOptions = builder.isStrictOptions();
 	}
 
 	/**
@@ -59,82 +136,530 @@ public class MinicliApplication {
 	 * @throws UnsupportedParameterTypeException If a command parameter has an unsupported type.
 	 */
 	public CommandOutput run(Class<?> clazz, String[] args) throws QuitException, UnsupportedParameterTypeException, IllegalValueFormatException {
+		return actuallyRun(clazz, args);
+	}
+
+	/**
+	 * Scans the given package for commands and executes the command with the given arguments, writing its output to
+	 * the writer.
+	 * <p>
+	 * A {@link StreamingRunnableCommand} writes its output as it produces it, so it is never held in memory as a
+	 * whole. The output of other commands, including the help, is written once they finish.
+	 *
+	 * @param clazz The package to scan for commands. It also scans subpackages.
+	 * @param args  The arguments to pass to the command.
+	 * @param out   The writer to write the output to. It is not closed.
+	 * @return Whether the command was successful or not.
+	 * @throws QuitException                     If the user wants to quit the application.
+	 * @throws UnsupportedParameterTypeException If a command parameter has an unsupported type.
+	 * @throws IllegalValueFormatException       If a value cannot be converted to the type of its parameter.
+	 * @throws IOException                       If the output cannot be written.
+	 */
+	public boolean run(Class<?> clazz, String[] args, Writer out) throws QuitException, UnsupportedParameterTypeException, IllegalValueFormatException, IOException {
+		return run(clazz, args, out, null);
+	}
+
+	/**
+	 * Runs the command like {@link #run(Class, String[], Writer)}, resolving relative paths in its arguments and
+	 * argument files against the given directory instead of the working directory of the process.
+	 */
+	boolean run(Class<?> clazz, String[] args, Writer out, Path workingDirectory) throws QuitException, UnsupportedParameterTypeException, IllegalValueFormatException, IOException {
+		var dispatch = dispatch(clazz, args, workingDirectory);
+		if (dispatch.command() != null) {
+			try {
+				return commandExecutor.execute(dispatch.command(), out);
+			} finally {
+				release(dispatch);
+			}
+		}
+
+		if (dispatch.output().output() != null) {
+			out.write(dispatch.output().output());
+		}
+		return dispatch.output().success();
+	}
+
+	/**
+	 * Scans the given package for commands and executes the command with the given arguments without blocking the
+	 * caller. The command is found and inflated by the caller, and then run on the executor set with
+	 * {@link MinicliApplicationBuilder#withAsyncExecutor(Executor)}, unless it is an {@link AsyncRunnableCommand}.
+	 * <p>
+	 * Any error, including quitting, completes the future exceptionally. Cancelling the future cancels the command:
+	 * the future of an {@link AsyncRunnableCommand} is cancelled, and other commands are interrupted.
+	 *
+	 * @param clazz The package to scan for commands. It also scans subpackages.
+	 * @param args  The arguments to pass to the command.
+	 * @return A future completed with the output of the command.
+	 */
+	public CompletableFuture<CommandOutput> runAsync(Class<?> clazz, String[] args) {
+		Dispatch dispatch;
+		try {
+			dispatch = dispatch(clazz, args);
+		} catch (QuitException | UnsupportedParameterTypeException | IllegalValueFormatException | RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		if (dispatch.command() == null) {
+			return CompletableFuture.completedFuture(dispatch.output());
+		}
+		CompletableFuture<CommandOutput> result;
+		try {
+			result = commandExecutor.executeAsync(dispatch.command(), asyncExecutor);
+		} catch (RuntimeException e) {
+			release(dispatch);
+			return CompletableFuture.failedFuture(e);
+		}
+		result.whenComplete((output, e) -> {
+			// A cancelled command may still be running, so it cannot be reused
+			if (!(e instanceof CancellationException) && !(e instanceof TimeoutException)) {
+				release(dispatch);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Executes the command like {@link #runAsync(Class, String[])}, cancelling it if it doesn't finish in time.
+	 *
+	 * @param clazz   The package to scan for commands. It also scans subpackages.
+	 * @param args    The arguments to pass to the command.
+	 * @param timeout The maximum time the command may run.
+	 * @return A future completed with the output of the command, or with a {@link java.util.concurrent.TimeoutException}
+	 * if it runs out of time.
+	 */
+	public CompletableFuture<CommandOutput> runAsync(Class<?> clazz, String[] args, Duration timeout) {
+		return runAsync(clazz, args).orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Starts a session running the commands of the given package. The commands are found once, and reused by every
+	 * command run in the session.
+	 *
+	 * @param clazz The package to scan for commands. It also scans subpackages.
+	 * @return The session.
+	 */
+	public MinicliSession session(Class<?> clazz) {
+		return new MinicliSession(this, clazz);
+	}
+
+	/**
+	 * Starts a daemon running the commands of the given package for {@link MinicliClient}s, listening on a Unix domain
+	 * socket until it is closed.
+	 *
+	 * @param clazz  The package to scan for commands. It also scans subpackages.
+	 * @param socket The path of the socket to listen on.
+	 * @return The daemon, already listening.
+	 * @throws IOException If the socket cannot be bound, or another daemon is listening on it.
+	 */
+	public MinicliDaemon daemon(Class<?> clazz, Path socket) throws IOException {
+		return daemon(clazz, socket, Duration.ZERO);
+	}
+
+	/**
+	 * Starts a daemon running the commands of the given package for {@link MinicliClient}s, listening on a Unix domain
+	 * socket until it is closed or no request is received for the given time.
+	 *
+	 * @param clazz       The package to scan for commands. It also scans subpackages.
+	 * @param socket      The path of the socket to listen on.
+	 * @param idleTimeout The time without requests after which the daemon closes itself, or zero to never close it.
+	 * @return The daemon, already listening.
+	 * @throws IOException If the socket cannot be bound, or another daemon is listening on it.
+	 */
+	public MinicliDaemon daemon(Class<?> clazz, Path socket, Duration idleTimeout) throws IOException {
+		return MinicliDaemon.start(this, clazz, socket, idleTimeout);
+	}
+
+	/**
+	 * Runs an interactive session, reading command lines from the input and writing their output, until the input
+	 * ends or the user quits.
+	 *
+	 * @param clazz The package to scan for commands. It also scans subpackages.
+	 * @param in    The input to read command lines from.
+	 * @param out   The output to write the output of the commands to.
+	 * @throws IOException If the input cannot be read or the output cannot be written.
+	 * @see MinicliSession#repl(InputStream, OutputStream)
+	 */
+	public void repl(Class<?> clazz, InputStream in, OutputStream out) throws IOException {
+		session(clazz).repl(in, out);
+	}
+
+	/**
+	 * Runs every command line of the given file, as a batch, with the commands of the given package.
+	 *
+	 * @param clazz  The package to scan for commands. It also scans subpackages.
+	 * @param file   The file with one command line per line, in UTF-8.
+	 * @param sink   The consumer of the output of every command, called as soon as each command finishes.
+	 * @param policy What to do when a command fails.
+	 * @return The result of the batch.
+	 * @throws IOException If the file cannot be read.
+	 * @see MinicliSession#runBatch(BufferedReader, Consumer, ErrorPolicy)
+	 */
+	public BatchResult runBatch(Class<?> clazz, Path file, Consumer<CommandOutput> sink, ErrorPolicy policy) throws IOException {
+		try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return session(clazz).runBatch(reader, sink, policy);
+		}
+	}
+
+	/**
+	 * Runs every command line of the given input, such as the standard input, as a batch, with the commands of the
+	 * given package.
+	 *
+	 * @param clazz  The package to scan for commands. It also scans subpackages.
+	 * @param in     The input with one command line per line, in UTF-8. It is not closed.
+	 * @param sink   The consumer of the output of every command, called as soon as each command finishes.
+	 * @param policy What to do when a command fails.
+	 * @return The result of the batch.
+	 * @throws IOException If the input cannot be read.
+	 * @see MinicliSession#runBatch(BufferedReader, Consumer, ErrorPolicy)
+	 */
+	public BatchResult runBatch(Class<?> clazz, InputStream in, Consumer<CommandOutput> sink, ErrorPolicy policy) throws IOException {
+		var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BATCH_BUFFER_SIZE);
+		return session(clazz).runBatch(reader, sink, policy);
+	}
+
+	/**
+	 * Runs every command line of the given file concurrently, as a batch, with the commands of the given package.
+	 *
+	 * @param clazz   The package to scan for commands. It also scans subpackages.
+	 * @param file    The file with one command line per line, in UTF-8.
+	 * @param sink    The consumer of the output of every command. It is never called by two threads at once.
+	 * @param options The parallelism, timeout, ordering and error policy of the batch.
+	 * @return The result of the batch.
+	 * @throws IOException If the file cannot be read.
+	 * @see MinicliSession#runBatch(BufferedReader, Consumer, BatchOptions)
+	 */
+	public BatchResult runBatch(Class<?> clazz, Path file, Consumer<CommandOutput> sink, BatchOptions options) throws IOException {
+		try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return session(clazz).runBatch(reader, sink, options);
+		}
+	}
+
+	/**
+	 * Runs every command line of the given input concurrently, as a batch, with the commands of the given package.
+	 *
+	 * @param clazz   The package to scan for commands. It also scans subpackages.
+	 * @param in      The input with one command line per line, in UTF-8. It is not closed.
+	 * @param sink    The consumer of the output of every command. It is never called by two threads at once.
+	 * @param options The parallelism, timeout, ordering and error policy of the batch.
+	 * @return The result of the batch.
+	 * @throws IOException If the input cannot be read.
+	 * @see MinicliSession#runBatch(BufferedReader, Consumer, BatchOptions)
+	 */
+	public BatchResult runBatch(Class<?> clazz, InputStream in, Consumer<CommandOutput> sink, BatchOptions options) throws IOException {
+		var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BATCH_BUFFER_SIZE);
+		return session(clazz).runBatch(reader, sink, options);
+	}
+
+	/**
+	 * Generates a completion script for the given shell, completing the names and options of the commands. The script
+	 * calls the executable of the application with a hidden {@code __complete} command on every completion, which
+	 * answers without loading any command class other than the one being completed.
+	 * <p>
+	 * The executable in the {@link ApplicationParams} must be the command typed in the shell to run the application.
+	 * The script is also printed by the hidden {@code __completion bash|zsh|fish} command, so users can install it
+	 * with, for example, {@code source <(myapp __completion bash)}.
+	 *
+	 * @param shell The shell to generate the script for.
+	 * @return The script, to be sourced by the shell.
+	 */
+	public String completionScript(Shell shell) {
+		return Completion.script(shell, application.executable());
+	}
+
+	private static Shell shell(String name) {
+		for (var shell : Shell.values()) {
+			if (shell.name().equalsIgnoreCase(name)) {
+				return shell;
+			}
+		}
+		throw new RuntimeException("Unknown shell '" + name + "'. Use bash, zsh or fish.");
+	}
+
+	/**
+	 * Warms up the application for the commands of the given package without running any of them: it finds the
+	 * commands, loads their classes without initializing them, and exercises the argument parser, their bindings, the
+	 * dispatch and the help.
+	 * <p>
+	 * It is meant for training runs that create a class data sharing archive, either with
+	 * {@code -XX:ArchiveClassesAtExit=app.jsa} or with {@link #dumpArchive(Path)}, so later runs started with
+	 * {@code -XX:SharedArchiveFile=app.jsa} load the classes used by minicli from the archive.
+	 *
+	 * @param clazz The package to scan for commands. It also scans subpackages.
+	 * @return The number of commands found.
+	 */
+	public int train(Class<?> clazz) {
+		var commands = getCommands(clazz.getPackageName());
+		var parser = new ArgumentParser();
+		var tokenizer = new ArgumentTokenizer();
+
+		for (var model : commands.getModels()) {
+			CommandBinder.of(model, converters);
+			commands.getCommand(model.name());
+
+			List<String> args = new ArrayList<>();
+			args.add(model.name());
+			for (var flag : model.flags()) {
+				args.add("--" + flag.name());
+			}
+			for (var parameter : model.parameters()) {
+				args.add("--" + parameter.name());
+				args.add("0");
+			}
+			parser.parse(tokenizer.tokenize(String.join(" ", args)));
+			helpGenerator.show(application, model.commandClass());
+		}
+		helpGenerator.show(application, commands.getClasses());
+
+		return commands.getModels().size();
+	}
+
+	/**
+	 * Dumps the classes loaded so far to a class data sharing archive, usually after {@link #train(Class)}.
+	 * <p>
+	 * The JVM must be started with {@code -XX:+RecordDynamicDumpInfo}. Later runs use the archive when started with
+	 * {@code -XX:SharedArchiveFile} pointing to it.
+	 *
+	 * @param archive The file to write the archive to.
+	 * @throws RuntimeException If the archive cannot be dumped.
+	 */
+	public void dumpArchive(Path archive) {
+		Object result;
+		try {
+			result = ManagementFactory.getPlatformMBeanServer().invoke(
+				new ObjectName("com.sun.management:type=DiagnosticCommand"),
+				"vmCds",
+				new Object[]{ new String[]{ "dynamic_dump", archive.toAbsolutePath().toString() } },
+				new String[]{ String[].class.getName() }
+			);
+		} catch (JMException | RuntimeException e) {
+			throw new RuntimeException("Cannot dump the CDS archive " + archive, e);
+		}
+
+		if (!Files.exists(archive)) {
+			throw new RuntimeException("Cannot dump the CDS archive " + archive + ": " + String.valueOf(result).strip());
+		}
+	}
+
+	/**
+	 * Registers CRaC hooks that warm up the application with {@link #train(Class)} before a checkpoint is taken, so the
+	 * restored process starts with its commands ready.
+	 * <p>
+	 * It requires {@code org.crac:org-crac} in the classpath, which is not a transitive dependency of minicli. Without a
+	 * CRaC-enabled JVM, the hooks are never called.
+	 *
+	 * @param clazz The package to scan for commands. It also scans subpackages.
+	 */
+	public void registerCheckpointHooks(Class<?> clazz) {
+		// CRaC keeps weak references to resources, so the application keeps them alive
+		checkpointHooks.add(CheckpointHooks.register(this, clazz));
+	}
+
+	private CommandOutput actuallyRun(Class<?> clazz, String[] args) throws QuitException, UnsupportedParameterTypeException, IllegalValueFormatException {
+		var dispatch = dispatch(clazz, args);
+		if (dispatch.command() == null) {
+			return dispatch.output();
+		}
 		try {
-			return actuallyRun(clazz, args);
-		} catch (IllegalAccessException e) {
-			return new CommandOutput(false, e.getMessage());
+			return commandExecutor.execute(dispatch.command());
+		} finally {
+			release(dispatch);
 		}
 	}
 
-	private CommandOutput actuallyRun(Class<?> clazz, String[] args) throws QuitException, IllegalAccessException, UnsupportedParameterTypeException, IllegalValueFormatException {
-		var classes = getCommands(clazz.getPackageName());
+	/**
+	 * Gives back the instance of a command that finished, unless the executor stopped waiting for it and it may still
+	 * be running.
+	 */
+	private void release(Dispatch dispatch) {
+		if (!commandExecutor.isAbandoned(dispatch.command())) {
+			instances.release(dispatch.model(), dispatch.command());
+		}
+	}
+
+	/**
+	 * Finds the command to run for the given arguments and inflates it, or gets the output of a built-in command.
+	 */
+	private Dispatch dispatch(Class<?> clazz, String[] args) throws QuitException, UnsupportedParameterTypeException, IllegalValueFormatException {
+		return dispatch(clazz, args, null);
+	}
+
+	/**
+	 * Finds the command to run for the given arguments and inflates it, resolving relative paths against the given
+	 * directory, or null for the working directory of the process.
+	 */
+	private Dispatch dispatch(Class<?> clazz, String[] args, Path workingDirectory) throws QuitException, UnsupportedParameterTypeException, IllegalValueFormatException {
+		var commands = getCommands(clazz.getPackageName());
 		if (args.length == 0) {
-			return this.helpGenerator.show(application, classes);
+			return Dispatch.of(this.helpGenerator.show(application, commands.getClasses()));
+		}
+
+		if (args[0].equals(Completion.COMPLETE_COMMAND)) {
+			var words = Arrays.asList(args).subList(1, args.length);
+			return Dispatch.of(new CommandOutput(true, Completion.complete(commands, words)));
+		}
+
+		if (args[0].equals(Completion.SCRIPT_COMMAND)) {
+			if (args.length != 2) {
+				throw new RuntimeException("Usage: " + Completion.SCRIPT_COMMAND + " bash|zsh|fish");
+			}
+			return Dispatch.of(new CommandOutput(true, completionScript(shell(args[1]))));
 		}
 
 		if (args[0].equals("v") || args[0].equals("version")) {
-			return new CommandOutput(true, application.formatted());
+			return Dispatch.of(new CommandOutput(true, application.formatted()));
 		}
 
 		if (args[0].equals("quit") || args[0].equals("q") || args[0].equals("exit")) {
 			throw new QuitException();
 		}
 
-		var candidades = getCandidates(args[0], classes);
-
 		if (args[0].equals("h") || args[0].equals("help")) {
-			if (args.length == 2) {
-				candidades = getCandidates(args[1], classes);
-				return this.helpGenerator.show(application, candidades.get(0));
+			if (args.length > 1 && args[1].startsWith("-")) {
+				return new Dispatch(null, null, new HelpPage(commands.getClasses(), helpQuery(args)));
 			}
-			return this.helpGenerator.show(application, classes);
-		}
-
-		switch (candidades.size()) {
-			case 0 -> throw new RuntimeException("Command not found.");
-			case 1 -> {
-				var instance = instantiator.getInstance(candidades.get(0));
-
-				if (instance instanceof RunnableCommand runnableInstance) {
-					try {
-						Inflater.inflateInstance(runnableInstance, args);
-					} catch (HelpException e) {
-						return this.helpGenerator.show(application, e.getClazz());
-					}
-				} else {
-					throw new RuntimeException("Command class must implement RunnableCommand");
+			if (args.length == 2) {
+				var model = commands.getCommand(args[1]);
+				if (model == null) {
+					throw commandNotFound(commands, args[1]);
 				}
-				return commandExecutor.execute((RunnableCommand) instance);
+				return Dispatch.of(this.helpGenerator.show(application, model.commandClass()));
 			}
-			default -> throw new RuntimeException("Multiple commands with the same name found.");
+			return Dispatch.of(this.helpGenerator.show(application, commands.getClasses()));
+		}
+
+		var model = commands.getCommand(args[0]);
+		if (model == null) {
+			throw commandNotFound(commands, args[0]);
+		}
+
+		var instance = instances.acquire(model);
+
+		if (instance instanceof RunnableCommand runnableInstance) {
+			try {
+				Inflater.inflateInstance(runnableInstance, model, args, argumentParser, converters, strictOptions, workingDirectory);
+			} catch (HelpException e) {
+				instances.release(model, instance);
+				return Dispatch.of(this.helpGenerator.show(application, e.getClazz()));
+			} catch (UnsupportedParameterTypeException | IllegalValueFormatException | RuntimeException e) {
+				instances.release(model, instance);
+				throw e;
+			}
+			return new Dispatch(null, model, runnableInstance);
+		} else {
+			throw new RuntimeException("Command class must implement RunnableCommand");
 		}
 	}
 
+	private static RuntimeException commandNotFound(CommandTable commands, String name) {
+		var suggestion = commands.suggest(name);
+		if (suggestion == null) {
+			return new RuntimeException("Command not found.");
+		}
+		return new RuntimeException("Command not found. Did you mean '" + suggestion + "'?");
+	}
 
 	/**
-	 * Gets all classes in classpath that are annotated with @Command
+	 * Reads the options of the help built-in command: {@code --prefix}, {@code --group}, {@code --offset} and
+	 * {@code --limit}.
+	 */
+	private static HelpQuery helpQuery(String[] args) throws IllegalValueFormatException {
+		var params = new ArgumentParser().parse(args).getParams();
+		var query = HelpQuery.all()
+			.withPrefix(params.get("prefix"))
+			.withGroup(params.get("group"));
+
+		for (var name : List.of("offset", "limit")) {
+			var value = params.get(name);
+			if (value == null) {
+				continue;
+			}
+			int parsed;
+			try {
+				parsed = Integer.parseInt(value);
+			} catch (NumberFormatException e) {
+				throw new IllegalValueFormatException(name, value);
+			}
+			if (parsed < 0) {
+				throw new IllegalValueFormatException(name, value);
+			}
+			query = name.equals("offset") ? query.withOffset(parsed) : query.withLimit(parsed);
+		}
+		return query;
+	}
+
+	/**
+	 * Gets the commands in the given package. They are only searched for the first time a package is used, and then
+	 * reused. Their classes are loaded as they are invoked.
 	 *
 	 * @param prefix The package to scan for commands.
 	 */
-	private List<Class<?>> getCommands(String prefix) {
-		var reflections = new Reflections(prefix);
-		final List<String> forbiddenCommands = List.of("h", "help", "q", "quit", "exit", "v", "version");
+	CommandTable getCommands(String prefix) {
+		var commands = commandTables.get(prefix);
+		return commands != null ? commands : commandTables.computeIfAbsent(prefix, this::findCommands);
+	}
+
+	/**
+	 * Finds the commands in the given package, using the configured {@link CommandIndex} or the index generated by the
+	 * annotation processor. The classpath is only scanned if there is no index, and the scan cache, if enabled, is
+	 * still valid.
+	 *
+	 * @param prefix The package to find commands in. It also includes subpackages.
+	 */
+	private CommandTable findCommands(String prefix) {
+		if (commandIndex != null) {
+			var descriptors = commandIndex.getDescriptors().stream().filter(d -> CommandIndexReader.inPackage(d.className(), prefix)).toList();
+			return new CommandTable(descriptors, commandIndex.getClass().getClassLoader());
+		}
+
+		var loader = Thread.currentThread().getContextClassLoader();
+		if (loader == null) {
+			loader = getClass().getClassLoader();
+		}
+		var indexed = CommandIndexReader.read(prefix, loader);
+		if (indexed != null) {
+			return new CommandTable(indexed, loader);
+		}
+
+		var fingerprint = scanCache != null ? ScanCache.fingerprint(System.getProperty("java.class.path", "")) : null;
+		var cached = scanCache != null ? scanCache.read(prefix, fingerprint) : null;
+		if (cached != null) {
+			return new CommandTable(cached, loader);
+		}
 
-		return reflections.getTypesAnnotatedWith(Command.class).stream().filter(c -> {
-			var name = c.getAnnotation(Command.class).name().toLowerCase();
-			var shortname = c.getAnnotation(Command.class).shortname().toLowerCase();
-			return !forbiddenCommands.contains(name) && !forbiddenCommands.contains(shortname);
-		}).toList();
+		var scanned = new Reflections(prefix).getTypesAnnotatedWith(Command.class).stream()
+			.sorted(Comparator.comparing(Class::getName))
+			.map(CommandDescriptor::of)
+			.toList();
+		if (scanCache != null) {
+			scanCache.write(prefix, fingerprint, scanned);
+		}
+		return new CommandTable(scanned, loader);
 	}
 
 	/**
-	 * Gets the command class that matches the given name.
+	 * The command to run for some arguments, or the output of a built-in command that doesn't need to run.
 	 */
-	private List<Class<?>> getCandidates(String arg, List<Class<?>> classes) {
-		return classes.stream().filter(c -> {
-			var name = c.getAnnotation(Command.class).name().toLowerCase();
-			var shortname = c.getAnnotation(Command.class).shortname().toLowerCase();
-			return name.equals(arg) || shortname.equals(arg);
-		}).toList();
+	private record Dispatch(CommandOutput output, CommandModel model, RunnableCommand command) {
+		static Dispatch of(CommandOutput output) {
+			return new Dispatch(output, null, null);
+		}
+	}
+
+	/**
+	 * The help of the commands selected by the options of the help built-in command, written as it is generated.
+	 */
+	private final class HelpPage implements StreamingRunnableCommand {
+		private final List<Class<?>> classes;
+		private final HelpQuery query;
+
+		private HelpPage(List<Class<?>> classes, HelpQuery query) {
+			this.classes = classes;
+			this.query = query;
+		}
+
+		@Override
+		public boolean run(Writer out) throws IOException {
+			return helpGenerator.write(application, classes, query, out);
+		}
 	}
 }
@@ -4,9 +4,19 @@ import dev.costas.minicli.defaults.DefaultCommandExecutor;
 import dev.costas.minicli.defaults.DefaultInstantiator;
 import dev.costas.minicli.defaults.LinearHelpGenerator;
 import dev.costas.minicli.framework.CommandExecutor;
+import dev.costas.minicli.framework.CommandIndex;
 import dev.costas.minicli.framework.HelpGenerator;
 import dev.costas.minicli.framework.Instantiator;
+import dev.costas.minicli.framework.TypeConverter;
 import dev.costas.minicli.models.ApplicationParams;
+import dev.costas.minicli.models.DataSize;
+import dev.costas.minicli.models.Scope;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A builder for {@link MinicliApplication}.
@@ -18,6 +28,14 @@ public class MinicliApplicationBuilder {
 	private HelpGenerator helpGenerator;
 	private ApplicationParams applicationParams;
 	private Instantiator instantiator;
+	private CommandIndex commandIndex;
+	private Executor asyncExecutor;
+	private Scope defaultScope;
+	private boolean scanCache;
+	private Path scanCacheDirectory;
+	private final Map<Class<?>, TypeConverter<?>> typeConverters;
+	private boolean argumentFiles;
+	private boolean strictOptions;
 
 	/**
 	 * Creates a new builder with the default values.
@@ -27,6 +45,14 @@ public class MinicliApplicationBuilder {
 		this.helpGenerator = new LinearHelpGenerator();
 		this.applicationParams = null;
 		this.instantiator = new DefaultInstantiator();
+		this.commandIndex = null;
+		this.asyncExecutor = ForkJoinPool.commonPool();
+		this.defaultScope = Scope.PROTOTYPE;
+		this.scanCache = false;
+		this.scanCacheDirectory = null;
+		this.typeConverters = new HashMap<>();
+		this.argumentFiles = false;
+		this.strictOptions = false;
 	}
 
 	/**
@@ -70,11 +96,157 @@ public class MinicliApplicationBuilder {
 		return this;
 	}
 
+	/**
+	 * Sets the index of the commands, such as the {@code CommandRegistry} generated by the annotation processor.
+	 * <p>
+	 * If it is not set, the index written by the annotation processor to the classpath is used, and if there is none,
+	 * the classpath is scanned for commands.
+	 * @param commandIndex The index of the commands.
+	 * @return This builder with the command index set.
+	 */
+	public MinicliApplicationBuilder withCommandIndex(CommandIndex commandIndex) {
+		this.commandIndex = commandIndex;
+		return this;
+	}
+
+	/**
+	 * Sets the executor that runs the commands started with {@link MinicliApplication#runAsync(Class, String[])}. By
+	 * default, it is the common {@link ForkJoinPool}.
+	 * @param asyncExecutor The executor to run asynchronous commands on.
+	 * @return This builder with the executor set.
+	 */
+	public MinicliApplicationBuilder withAsyncExecutor(Executor asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+		return this;
+	}
+
+	/**
+	 * Sets the scope of the commands that don't declare one in {@link dev.costas.minicli.annotation.Command#scope()}.
+	 * By default, it is {@link Scope#PROTOTYPE}.
+	 * @param defaultScope The scope to use by default.
+	 * @return This builder with the default scope set.
+	 */
+	public MinicliApplicationBuilder withDefaultScope(Scope defaultScope) {
+		this.defaultScope = defaultScope;
+		return this;
+	}
+
+	/**
+	 * Caches the commands found by scanning the classpath in {@code ~/.cache/<executable>}, or in
+	 * {@code $XDG_CACHE_HOME/<executable>} if it is set, so later runs don't scan it again until the classpath changes.
+	 * The cache is not used when the commands are read from a command index.
+	 * @return This builder with the scan cache enabled.
+	 */
+	public MinicliApplicationBuilder withScanCache() {
+		this.scanCache = true;
+		this.scanCacheDirectory = null;
+		return this;
+	}
+
+	/**
+	 * Caches the commands found by scanning the classpath in the given directory, like {@link #withScanCache()}.
+	 * @param directory The directory to store the cache in.
+	 * @return This builder with the scan cache enabled.
+	 */
+	public MinicliApplicationBuilder withScanCache(Path directory) {
+		this.scanCache = true;
+		this.scanCacheDirectory = directory;
+		return this;
+	}
+
+	/**
+	 * Sets the converter for the parameters of the given type, replacing the built-in conversion if there is one.
+	 * <p>
+	 * Besides strings, primitives and their wrappers, parameters can be of type {@link java.nio.file.Path},
+	 * {@link java.net.URI}, {@link java.math.BigDecimal}, {@link java.math.BigInteger}, {@link java.time.Duration}
+	 * (such as {@code PT1M} or {@code 500ms}), {@link java.time.Instant}, {@link DataSize} (such as {@code 512MiB}),
+	 * {@code byte[]} (in hexadecimal, or in Base64 prefixed with {@code base64:}) and any enum, matched by name
+	 * ignoring case.
+	 * @param type      The type of the parameters.
+	 * @param converter The converter from the value passed to the type.
+	 * @param <T>       The type of the parameters.
+	 * @return This builder with the converter set.
+	 */
+	public <T> MinicliApplicationBuilder withTypeConverter(Class<T> type, TypeConverter<? extends T> converter) {
+		this.typeConverters.put(type, converter);
+		return this;
+	}
+
+	/**
+	 * Expands the arguments of a command starting with {@code @} to the arguments in the file at the path that
+	 * follows, like {@code javac} does, so commands can be passed more arguments than the OS allows. The file is read
+	 * as it is parsed. Arguments starting with {@code @@} are passed with a single {@code @}.
+	 * @return This builder with argument files enabled.
+	 */
+	public MinicliApplicationBuilder withArgumentFiles() {
+		this.argumentFiles = true;
+		return this;
+	}
+
+	/**
+	 * Rejects the options a command doesn't declare, suggesting the closest one, instead of ignoring them.
+	 * @return This builder with unknown options rejected.
+	 */
+	public MinicliApplicationBuilder withStrictOptions() {
+		this.strictOptions = true;
+		return this;
+	}
+
 	/**
 	 * Builds the {@link MinicliApplication}.
 	 * @return The {@link MinicliApplication}.
 	 */
 	public MinicliApplication build() {
-		return new MinicliApplication(commandExecutor, helpGenerator, applicationParams, instantiator);
+		return new MinicliApplication(this);
+	}
+
+	CommandExecutor getCommandExecutor() {
+		return commandExecutor;
+	}
+
+	HelpGenerator getHelpGenerator() {
+		return helpGenerator;
+	}
+
+	ApplicationParams getApplicationParams() {
+		return applicationParams;
+	}
+
+	Instantiator getInstantiator() {
+		return instantiator;
+	}
+
+	CommandIndex getCommandIndex() {
+		return commandIndex;
+	}
+
+	Executor getAsyncExecutor() {
+		return asyncExecutor;
+	}
+
+	Scope getDefaultScope() {
+		return defaultScope;
+	}
+
+	TypeConverters getTypeConverters() {
+		return typeConverters.isEmpty() ? TypeConverters.DEFAULT : new TypeConverters(typeConverters);
+	}
+
+	boolean isArgumentFiles() {
+		return argumentFiles;
+	}
+
+	boolean isStrictOptions() {
+		return strictOptions;
+	}
+
+	ScanCache getScanCache() {
+		if (!scanCache) {
+			return null;
+		}
+		if (scanCacheDirectory != null) {
+			return new ScanCache(scanCacheDirectory);
+		}
+		return new ScanCache(ScanCache.defaultDirectory(applicationParams != null ? applicationParams.executable() : null));
 	}
 }
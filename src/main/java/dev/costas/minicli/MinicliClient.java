@@ -0,0 +1,107 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.models.ClientRequest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A launcher forwarding a command to a {@link MinicliDaemon}, along with its environment variables and working
+ * directory, and writing back the output of the command as the daemon streams it.
+ * <p>
+ * The launcher doesn't load the commands nor scan the classpath, so it starts much faster than the application. The
+ * socket of the daemon is taken from the {@value #SOCKET_PROPERTY} system property or the {@value #SOCKET_VARIABLE}
+ * environment variable, and the process exits with the exit code of the command: 0 if it succeeded, 1 if its output
+ * is unsuccessful, and 2 if it could not be run or the daemon could not be reached.
+ *
+ * @since 2.1.0
+ */
+public final class MinicliClient {
+	/**
+	 * The system property with the path of the socket of the daemon.
+	 */
+	public static final String SOCKET_PROPERTY = "minicli.socket";
+	/**
+	 * The environment variable with the path of the socket of the daemon, used if the system property is not set.
+	 */
+	public static final String SOCKET_VARIABLE = "MINICLI_SOCKET";
+
+	private MinicliClient() {
+	}
+
+	/**
+	 * Forwards the arguments to the daemon and exits with the exit code of the command.
+	 *
+	 * @param args The arguments of the command, including its name.
+	 */
+	public static void main(String[] args) {
+		var socket = System.getProperty(SOCKET_PROPERTY, System.getenv(SOCKET_VARIABLE));
+		if (socket == null || socket.isBlank()) {
+			System.err.println("No daemon socket set. Set the " + SOCKET_PROPERTY + " property or the " + SOCKET_VARIABLE + " variable.");
+			System.exit(DaemonProtocol.EXIT_ERROR);
+		}
+
+		int code;
+		try {
+			code = run(Path.of(socket), args, System.out);
+		} catch (IOException e) {
+			System.err.println("Cannot reach the daemon at " + socket + ": " + e.getMessage());
+			code = DaemonProtocol.EXIT_ERROR;
+		}
+		System.exit(code);
+	}
+
+	/**
+	 * Forwards the arguments to the daemon, with the environment variables and working directory of this process.
+	 *
+	 * @param socket The socket of the daemon.
+	 * @param args   The arguments of the command, including its name.
+	 * @param out    The stream to write the output of the command to. It is not closed.
+	 * @return The exit code of the command.
+	 * @throws IOException If the daemon cannot be reached or closes the connection before the command finishes.
+	 */
+	public static int run(Path socket, String[] args, OutputStream out) throws IOException {
+		var request = new ClientRequest(List.of(args), System.getenv(), Path.of("").toAbsolutePath());
+		return run(socket, request, out);
+	}
+
+	/**
+	 * Forwards the request to the daemon.
+	 *
+	 * @param socket  The socket of the daemon.
+	 * @param request The command to run and the environment to run it in.
+	 * @param out     The stream to write the output of the command to. It is not closed.
+	 * @return The exit code of the command.
+	 * @throws IOException If the daemon cannot be reached or closes the connection before the command finishes.
+	 */
+	public static int run(Path socket, ClientRequest request, OutputStream out) throws IOException {
+		try (var channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+			channel.connect(UnixDomainSocketAddress.of(socket));
+			var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+			var requestOut = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+			DaemonProtocol.writeRequest(requestOut, request);
+
+			while (true) {
+				var frame = in.readByte();
+				if (frame == DaemonProtocol.OUTPUT) {
+					out.write(DaemonProtocol.readBytes(in));
+					out.flush();
+				} else if (frame == DaemonProtocol.EXIT) {
+					return in.readInt();
+				} else {
+					throw new IOException("Malformed response: unknown frame " + frame);
+				}
+			}
+		}
+	}
+}
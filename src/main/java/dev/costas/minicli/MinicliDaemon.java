@@ -0,0 +1,295 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.exceptions.IllegalValueFormatException;
+import dev.costas.minicli.exceptions.QuitException;
+import dev.costas.minicli.exceptions.UnsupportedParameterTypeException;
+import dev.costas.minicli.models.ClientRequest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A daemon running the commands of a package for {@link MinicliClient}s, listening on a Unix domain socket.
+ * <p>
+ * The daemon keeps the JVM, the commands and their bindings warm, so a client only pays for starting itself and for
+ * running the command. Requests are handled concurrently, each on its own thread, and the daemon closes itself once
+ * no request has been received for its idle timeout.
+ *
+ * @since 2.1.0
+ */
+public final class MinicliDaemon implements AutoCloseable {
+	private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+		var thread = new Thread(r, "minicli-daemon-timeout");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private static final ThreadLocal<ClientRequest> CURRENT_REQUEST = new ThreadLocal<>();
+	private static final Set<PosixFilePermission> PRIVATE_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+	private static final Set<PosixFilePermission> PRIVATE_SOCKET = PosixFilePermissions.fromString("rw-------");
+
+	private final MinicliApplication application;
+	private final Class<?> clazz;
+	private final Path socket;
+	private final Duration idleTimeout;
+	private final ServerSocketChannel server;
+	private final ExecutorService handlers;
+	private final AtomicInteger activeRequests = new AtomicInteger();
+	private final AtomicBoolean closing = new AtomicBoolean();
+	private final CountDownLatch closed = new CountDownLatch(1);
+	private volatile long lastRequest = System.nanoTime();
+
+	private MinicliDaemon(MinicliApplication application, Class<?> clazz, Path socket, Duration idleTimeout, ServerSocketChannel server) {
+		this.application = application;
+		this.clazz = clazz;
+		this.socket = socket;
+		this.idleTimeout = idleTimeout;
+		this.server = server;
+		this.handlers = Executors.newCachedThreadPool(r -> new Thread(r, "minicli-daemon-request"));
+	}
+
+	/**
+	 * Starts a daemon listening on the given socket, finding the commands of the package right away.
+	 *
+	 * @throws IOException If the socket cannot be bound, or another daemon is listening on it.
+	 */
+	static MinicliDaemon start(MinicliApplication application, Class<?> clazz, Path socket, Duration idleTimeout) throws IOException {
+		if (idleTimeout.isNegative()) {
+			throw new IllegalArgumentException("The idle timeout cannot be negative.");
+		}
+		application.getCommands(clazz.getPackageName());
+
+		removeStaleSocket(UnixDomainSocketAddress.of(socket));
+		var server = bindPrivately(socket);
+
+		var daemon = new MinicliDaemon(application, clazz, socket, idleTimeout, server);
+		var acceptor = new Thread(daemon::accept, "minicli-daemon");
+		acceptor.start();
+		daemon.scheduleIdleCheck(idleTimeout);
+		return daemon;
+	}
+
+	/**
+	 * Removes the socket file left by a daemon that didn't close, so a new daemon can bind it.
+	 */
+	private static void removeStaleSocket(UnixDomainSocketAddress address) throws IOException {
+		if (!Files.exists(address.getPath())) {
+			return;
+		}
+
+		SocketChannel channel;
+		try {
+			channel = SocketChannel.open(address);
+		} catch (IOException e) {
+			// Nobody is listening, so the file is stale
+			Files.deleteIfExists(address.getPath());
+			return;
+		}
+		channel.close();
+		throw new IOException("A daemon is already listening on " + address.getPath());
+	}
+
+	/**
+	 * Binds the socket so only the owner of the daemon can ever connect to it, since clients run commands as the user
+	 * of the daemon. The socket is bound in a new directory that only the owner can access, restricted, and then moved
+	 * to its path, so it is never reachable with the default permissions.
+	 */
+	private static ServerSocketChannel bindPrivately(Path socket) throws IOException {
+		Path directory;
+		try {
+			directory = Files.createTempDirectory(socket.toAbsolutePath().getParent(), ".minicli", PosixFilePermissions.asFileAttribute(PRIVATE_DIRECTORY));
+		} catch (UnsupportedOperationException e) {
+			// The file system has no POSIX permissions, so the socket keeps those of its directory
+			return bind(socket);
+		}
+
+		try {
+			var bound = directory.resolve("s");
+			var server = bind(bound);
+			try {
+				Files.setPosixFilePermissions(bound, PRIVATE_SOCKET);
+				Files.move(bound, socket, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				server.close();
+				Files.deleteIfExists(bound);
+				throw e;
+			}
+			return server;
+		} finally {
+			Files.deleteIfExists(directory);
+		}
+	}
+
+	private static ServerSocketChannel bind(Path socket) throws IOException {
+		var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+		try {
+			server.bind(UnixDomainSocketAddress.of(socket));
+		} catch (IOException e) {
+			server.close();
+			throw e;
+		}
+		return server;
+	}
+
+	/**
+	 * Gets the request being run by the current thread, so a command run by a daemon can use the environment and
+	 * working directory of the client instead of those of the daemon.
+	 *
+	 * @return The request, or null if the current thread is not running a request of a daemon.
+	 */
+	public static ClientRequest currentRequest() {
+		return CURRENT_REQUEST.get();
+	}
+
+	/**
+	 * Gets the socket the daemon listens on.
+	 *
+	 * @return The path of the socket.
+	 */
+	public Path getSocket() {
+		return socket;
+	}
+
+	/**
+	 * Waits until the daemon is closed, either by {@link #close()} or by its idle timeout, and every request it
+	 * accepted has finished.
+	 *
+	 * @throws InterruptedException If the thread is interrupted while waiting.
+	 */
+	public void await() throws InterruptedException {
+		closed.await();
+	}
+
+	/**
+	 * Stops accepting requests and removes the socket. The requests being run are finished.
+	 *
+	 * @throws IOException If the socket cannot be closed or removed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!closing.compareAndSet(false, true)) {
+			return;
+		}
+		// Removed before closing the server, so the socket is gone once the daemon is closed
+		try {
+			Files.deleteIfExists(socket);
+		} finally {
+			server.close();
+		}
+	}
+
+	private void accept() {
+		try {
+			while (true) {
+				SocketChannel channel;
+				try {
+					channel = server.accept();
+				} catch (ClosedChannelException e) {
+					break;
+				} catch (IOException e) {
+					if (!server.isOpen()) {
+						break;
+					}
+					continue;
+				}
+
+				// Counted before the request is handed over, so the daemon is never idle while it is running
+				activeRequests.incrementAndGet();
+				handlers.execute(() -> handle(channel));
+			}
+		} finally {
+			handlers.shutdown();
+			try {
+				handlers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			closed.countDown();
+		}
+	}
+
+	private void handle(SocketChannel channel) {
+		try (channel) {
+			var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+			var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+			var request = DaemonProtocol.readRequest(in);
+
+			var writer = new DaemonProtocol.OutputWriter(out);
+			var code = run(request, writer);
+			writer.flush();
+			DaemonProtocol.writeExit(out, code);
+		} catch (IOException e) {
+			// The client went away or is not a Minicli client, so there is nobody to report to
+		} finally {
+			lastRequest = System.nanoTime();
+			activeRequests.decrementAndGet();
+		}
+	}
+
+	private int run(ClientRequest request, Writer out) throws IOException {
+		CURRENT_REQUEST.set(request);
+		try {
+			var success = application.run(clazz, request.args().toArray(String[]::new), out, request.workingDirectory());
+			out.write("\n");
+			return success ? DaemonProtocol.EXIT_SUCCESS : DaemonProtocol.EXIT_FAILURE;
+		} catch (QuitException e) {
+			return DaemonProtocol.EXIT_SUCCESS;
+		} catch (UnsupportedParameterTypeException | IllegalValueFormatException | RuntimeException e) {
+			out.write(Objects.requireNonNullElse(e.getMessage(), e.toString()) + "\n");
+			return DaemonProtocol.EXIT_ERROR;
+		} finally {
+			CURRENT_REQUEST.remove();
+		}
+	}
+
+	private void scheduleIdleCheck(Duration delay) {
+		if (!idleTimeout.isZero() && !closing.get()) {
+			TIMER.schedule(this::closeIfIdle, delay.toNanos(), TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Closes the daemon if it has been idle for its idle timeout, or checks again when it would be. There is a single
+	 * check scheduled at a time, started with the daemon, since every request pushes the deadline back.
+	 */
+	private void closeIfIdle() {
+		if (activeRequests.get() > 0) {
+			scheduleIdleCheck(idleTimeout);
+			return;
+		}
+		var idle = Duration.ofNanos(System.nanoTime() - lastRequest);
+		if (idle.compareTo(idleTimeout) < 0) {
+			scheduleIdleCheck(idleTimeout.minus(idle));
+			return;
+		}
+		try {
+			close();
+		} catch (IOException e) {
+			// The socket is closed anyway, only removing the file failed
+		}
+	}
+}
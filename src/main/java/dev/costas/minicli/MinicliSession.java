@@ -0,0 +1,216 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.defaults.ArgumentTokenizer;
+import dev.costas.minicli.exceptions.IllegalValueFormatException;
+import dev.costas.minicli.exceptions.QuitException;
+import dev.costas.minicli.exceptions.UnsupportedParameterTypeException;
+import dev.costas.minicli.models.BatchOptions;
+import dev.costas.minicli.models.BatchResult;
+import dev.costas.minicli.models.CommandOutput;
+import dev.costas.minicli.models.ErrorPolicy;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A long-lived session running the commands of a package, such as an interactive shell.
+ * <p>
+ * The commands of the package are found when the session is created, and they are reused by every invocation along
+ * with their models and bindings, so only the first command pays for them.
+ * <p>
+ * Like the application it belongs to, a session can run commands from several threads at once. The REPL reads from a
+ * single input, so it is meant to run on one thread.
+ *
+ * @since 2.1.0
+ */
+public class MinicliSession {
+	private static final String PROMPT = "> ";
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final MinicliApplication application;
+	private final Class<?> clazz;
+	private final ArgumentTokenizer tokenizer = new ArgumentTokenizer();
+
+	/**
+	 * Creates a new session, finding the commands of the package right away.
+	 *
+	 * @param application The application running the commands.
+	 * @param clazz       A class in the package to scan for commands. It also scans subpackages.
+	 */
+	MinicliSession(MinicliApplication application, Class<?> clazz) {
+		this.application = application;
+		this.clazz = clazz;
+		application.getCommands(clazz.getPackageName());
+	}
+
+	/**
+	 * Runs the command with the given arguments.
+	 *
+	 * @param args The arguments, including the name of the command.
+	 * @return The output of the command.
+	 * @throws QuitException                     If the user wants to quit the application.
+	 * @throws UnsupportedParameterTypeException If a command parameter has an unsupported type.
+	 * @throws IllegalValueFormatException       If a value cannot be converted to the type of its parameter.
+	 */
+	public CommandOutput run(String... args) throws QuitException, UnsupportedParameterTypeException, IllegalValueFormatException {
+		return application.run(clazz, args);
+	}
+
+	/**
+	 * Splits the given line into arguments, as a shell would, and runs the command.
+	 *
+	 * @param line The command line, starting with the name of the command.
+	 * @return The output of the command.
+	 * @throws QuitException                     If the user wants to quit the application.
+	 * @throws UnsupportedParameterTypeException If a command parameter has an unsupported type.
+	 * @throws IllegalValueFormatException       If a value cannot be converted to the type of its parameter.
+	 * @see ArgumentTokenizer
+	 */
+	public CommandOutput run(CharSequence line) throws QuitException, UnsupportedParameterTypeException, IllegalValueFormatException {
+		return run(tokenizer.tokenize(line));
+	}
+
+	/**
+	 * Splits the given line into arguments, as a shell would, and runs the command, writing its output to the writer.
+	 *
+	 * @param line The command line, starting with the name of the command.
+	 * @param out  The writer to write the output to. It is not closed.
+	 * @return Whether the command was successful or not.
+	 * @throws QuitException                     If the user wants to quit the application.
+	 * @throws UnsupportedParameterTypeException If a command parameter has an unsupported type.
+	 * @throws IllegalValueFormatException       If a value cannot be converted to the type of its parameter.
+	 * @throws IOException                       If the output cannot be written.
+	 * @see MinicliApplication#run(Class, String[], Writer)
+	 */
+	public boolean run(CharSequence line, Writer out) throws QuitException, UnsupportedParameterTypeException, IllegalValueFormatException, IOException {
+		return application.run(clazz, tokenizer.tokenize(line), out);
+	}
+
+	/**
+	 * Reads command lines from the input and writes their output, until the input ends or the user quits.
+	 * <p>
+	 * The output of a {@link StreamingRunnableCommand} is written as it is produced. Errors are written to the output
+	 * as well, and don't end the session. The streams are not closed.
+	 *
+	 * @param in  The input to read command lines from.
+	 * @param out The output to write the prompt and the output of the commands to.
+	 * @throws IOException If the input cannot be read or the output cannot be written.
+	 */
+	public void repl(InputStream in, OutputStream out) throws IOException {
+		var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+		var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+		while (true) {
+			writer.write(PROMPT);
+			writer.flush();
+
+			var line = reader.readLine();
+			if (line == null) {
+				break;
+			}
+			if (line.isBlank()) {
+				continue;
+			}
+
+			try {
+				run(line, writer);
+			} catch (QuitException e) {
+				break;
+			} catch (UnsupportedParameterTypeException | IllegalValueFormatException | RuntimeException e) {
+				writer.write(Objects.requireNonNullElse(e.getMessage(), e.toString()));
+			}
+			writer.newLine();
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Runs every command line of the given reader, passing their output to the sink as soon as each command finishes.
+	 * <p>
+	 * Blank lines and lines starting with {@code #} are ignored, and a {@code quit} command ends the batch. A command
+	 * fails if it throws an exception, which is passed to the sink as an unsuccessful output, or if its output is
+	 * unsuccessful.
+	 *
+	 * @param reader The reader to read command lines from. It is not closed.
+	 * @param sink   The consumer of the output of every command.
+	 * @param policy What to do when a command fails.
+	 * @return The result of the batch.
+	 * @throws IOException If the reader cannot be read.
+	 */
+	public BatchResult runBatch(BufferedReader reader, Consumer<CommandOutput> sink, ErrorPolicy policy) throws IOException {
+		long executed = 0;
+		long failed = 0;
+		List<BatchResult.Failure> failures = new ArrayList<>();
+
+		String line;
+		long lineNumber = 0;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (!isCommandLine(line)) {
+				continue;
+			}
+
+			CommandOutput output;
+			try {
+				output = run(line.strip());
+			} catch (QuitException e) {
+				break;
+			} catch (UnsupportedParameterTypeException | IllegalValueFormatException | RuntimeException e) {
+				output = new CommandOutput(false, Objects.requireNonNullElse(e.getMessage(), e.toString()));
+			}
+
+			executed++;
+			sink.accept(output);
+			if (output.success()) {
+				continue;
+			}
+
+			failed++;
+			if (policy != ErrorPolicy.CONTINUE) {
+				failures.add(new BatchResult.Failure(lineNumber, line, output.output()));
+			}
+			if (policy == ErrorPolicy.STOP_ON_FAILURE) {
+				break;
+			}
+		}
+
+		return new BatchResult(executed, failed, List.copyOf(failures));
+	}
+
+	/**
+	 * Runs every command line of the given reader concurrently, passing their output to the sink.
+	 * <p>
+	 * Lines are handled as in {@link #runBatch(BufferedReader, Consumer, ErrorPolicy)}. Commands must not depend on
+	 * each other, since several of them run at the same time, and the sink is never called by two threads at once.
+	 * If the sink throws, no more outputs are delivered and the exception is rethrown once the commands in flight
+	 * are done, whether the outputs are ordered or not.
+	 *
+	 * @param reader  The reader to read command lines from. It is not closed.
+	 * @param sink    The consumer of the output of every command.
+	 * @param options The parallelism, timeout, ordering and error policy of the batch.
+	 * @return The result of the batch.
+	 * @throws IOException If the reader cannot be read.
+	 */
+	public BatchResult runBatch(BufferedReader reader, Consumer<CommandOutput> sink, BatchOptions options) throws IOException {
+		return new ParallelBatch(this, sink, options).run(reader);
+	}
+
+	/**
+	 * Whether the given line of a batch is a command, rather than a blank line or a comment starting with {@code #}.
+	 */
+	static boolean isCommandLine(String line) {
+		var trimmed = line.strip();
+		return !trimmed.isEmpty() && !trimmed.startsWith("#");
+	}
+}
@@ -0,0 +1,98 @@
+package dev.costas.minicli;
+
+import java.util.List;
+
+/**
+ * Parses the values of a multi-valued parameter, each of them possibly holding several elements split by a separator,
+ * straight into an array of the type of the field.
+ * <p>
+ * The elements are counted first, so the array is allocated once with its final size, and numbers are parsed from
+ * their bounds in the value, without creating a string or a boxed number for every element.
+ */
+final class MultiValues {
+	private MultiValues() {
+	}
+
+	static int[] ints(List<String> values, String separator) {
+		var result = new int[count(values, separator)];
+		forEach(values, separator, (i, value, start, end) -> result[i] = Integer.parseInt(value, start, end, 10));
+		return result;
+	}
+
+	static long[] longs(List<String> values, String separator) {
+		var result = new long[count(values, separator)];
+		forEach(values, separator, (i, value, start, end) -> result[i] = Long.parseLong(value, start, end, 10));
+		return result;
+	}
+
+	static double[] doubles(List<String> values, String separator) {
+		var result = new double[count(values, separator)];
+		forEach(values, separator, (i, value, start, end) -> result[i] = Double.parseDouble(value.substring(start, end)));
+		return result;
+	}
+
+	static String[] strings(List<String> values, String separator) {
+		var result = new String[count(values, separator)];
+		forEach(values, separator, (i, value, start, end) -> result[i] = value.substring(start, end));
+		return result;
+	}
+
+	/**
+	 * Counts the elements of the values.
+	 */
+	static int count(List<String> values, String separator) {
+		var count = values.size();
+		if (separator.isEmpty()) {
+			return count;
+		}
+		for (var value : values) {
+			for (var i = value.indexOf(separator); i >= 0; i = value.indexOf(separator, i + separator.length())) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Visits every element of the values, without the whitespace around it.
+	 *
+	 * @throws NumberFormatException If an element is empty or cannot be parsed, with the element as its message.
+	 */
+	private static void forEach(List<String> values, String separator, ElementVisitor visitor) {
+		var index = 0;
+		for (var value : values) {
+			var start = 0;
+			while (true) {
+				var next = separator.isEmpty() ? -1 : value.indexOf(separator, start);
+				var end = next < 0 ? value.length() : next;
+
+				var elementStart = start;
+				var elementEnd = end;
+				while (elementStart < elementEnd && Character.isWhitespace(value.charAt(elementStart))) {
+					elementStart++;
+				}
+				while (elementEnd > elementStart && Character.isWhitespace(value.charAt(elementEnd - 1))) {
+					elementEnd--;
+				}
+				try {
+					if (elementStart == elementEnd) {
+						throw new NumberFormatException();
+					}
+					visitor.visit(index++, value, elementStart, elementEnd);
+				} catch (NumberFormatException e) {
+					throw new NumberFormatException(value.substring(elementStart, elementEnd));
+				}
+
+				if (next < 0) {
+					break;
+				}
+				start = next + separator.length();
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface ElementVisitor {
+		void visit(int index, String value, int start, int end);
+	}
+}
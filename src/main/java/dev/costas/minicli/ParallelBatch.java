@@ -0,0 +1,281 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.exceptions.IllegalValueFormatException;
+import dev.costas.minicli.exceptions.QuitException;
+import dev.costas.minicli.exceptions.UnsupportedParameterTypeException;
+import dev.costas.minicli.models.BatchOptions;
+import dev.costas.minicli.models.BatchResult;
+import dev.costas.minicli.models.CommandOutput;
+import dev.costas.minicli.models.ErrorPolicy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs the command lines of a batch concurrently, as configured by {@link BatchOptions}.
+ */
+final class ParallelBatch {
+	private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+		var thread = new Thread(r, "minicli-batch-timeout");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final MinicliSession session;
+	private final Consumer<CommandOutput> sink;
+	private final BatchOptions options;
+	private final int maxInFlight;
+	// Only used when the outputs are delivered as the commands finish, ordered batches bound their queue instead
+	private final Semaphore inFlight;
+
+	private final List<BatchResult.Failure> failures = new ArrayList<>();
+	private long executed = 0;
+	private long failed = 0;
+	private volatile boolean stopped = false;
+	// Commands on later lines are neither run nor delivered, as if the batch had stopped reading there
+	private volatile long stopLine = Long.MAX_VALUE;
+	// The first exception thrown by the sink or the executor, rethrown once the commands in flight are done
+	private Throwable failure = null;
+
+	ParallelBatch(MinicliSession session, Consumer<CommandOutput> sink, BatchOptions options) {
+		this.session = session;
+		this.sink = sink;
+		this.options = options;
+		this.maxInFlight = options.parallelism() * 2;
+		this.inFlight = new Semaphore(maxInFlight);
+	}
+
+	/**
+	 * Runs every command line of the reader.
+	 *
+	 * @param reader The reader to read command lines from. It is not closed.
+	 * @return The result of the batch.
+	 * @throws RuntimeException If the sink throws, after waiting for the commands in flight.
+	 */
+	BatchResult run(BufferedReader reader) throws IOException {
+		var executor = options.executor() != null ? options.executor() : new ForkJoinPool(options.parallelism());
+		Deque<Future<Outcome>> pending = new ArrayDeque<>();
+
+		try {
+			String line;
+			long lineNumber = 0;
+			while (!stopped && (line = reader.readLine()) != null) {
+				lineNumber++;
+				if (!MinicliSession.isCommandLine(line)) {
+					continue;
+				}
+
+				var number = lineNumber;
+				var commandLine = line;
+				if (options.ordered()) {
+					// The outputs are delivered by this thread, so it waits for the oldest command to make room
+					while (pending.size() >= maxInFlight) {
+						deliverNext(pending);
+					}
+					try {
+						pending.add(executor.submit(() -> execute(number, commandLine)));
+					} catch (RejectedExecutionException e) {
+						fail(e);
+					}
+					while (!pending.isEmpty() && pending.peekFirst().isDone()) {
+						deliverNext(pending);
+					}
+				} else {
+					try {
+						inFlight.acquire();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						break;
+					}
+					try {
+						executor.execute(() -> {
+							try {
+								deliver(execute(number, commandLine));
+							} catch (RuntimeException | Error e) {
+								fail(e);
+							} finally {
+								inFlight.release();
+							}
+						});
+					} catch (RejectedExecutionException e) {
+						inFlight.release();
+						fail(e);
+					}
+				}
+			}
+
+			while (!pending.isEmpty()) {
+				deliverNext(pending);
+			}
+			// Wait for the commands still running when delivering as they finish
+			inFlight.acquireUninterruptibly(maxInFlight);
+			inFlight.release(maxInFlight);
+		} finally {
+			if (options.executor() == null) {
+				executor.shutdown();
+			}
+		}
+
+		synchronized (this) {
+			if (failure instanceof Error error) {
+				throw error;
+			}
+			if (failure != null) {
+				throw (RuntimeException) failure;
+			}
+			failures.sort(Comparator.comparingLong(BatchResult.Failure::lineNumber));
+			return new BatchResult(executed, failed, List.copyOf(failures));
+		}
+	}
+
+	private Outcome execute(long lineNumber, String line) {
+		if (lineNumber > stopLine) {
+			return new Outcome(lineNumber, line, null);
+		}
+
+		var guard = options.timeout() != null ? new TimeoutGuard(Thread.currentThread()) : null;
+		var timer = guard != null
+			? TIMER.schedule(guard::expire, options.timeout().toNanos(), TimeUnit.NANOSECONDS)
+			: null;
+
+		CommandOutput output;
+		try {
+			output = session.run(line.strip());
+		} catch (QuitException e) {
+			stop(lineNumber);
+			output = null;
+		} catch (UnsupportedParameterTypeException | IllegalValueFormatException | RuntimeException e) {
+			output = new CommandOutput(false, Objects.requireNonNullElse(e.getMessage(), e.toString()));
+		} finally {
+			if (timer != null) {
+				timer.cancel(false);
+			}
+		}
+
+		if (guard != null && guard.finish()) {
+			// Clears the interruption, since the thread is reused for other commands
+			Thread.interrupted();
+			output = new CommandOutput(false, "Command timed out after " + options.timeout().toMillis() + " ms.");
+		}
+
+		return new Outcome(lineNumber, line, output);
+	}
+
+	private Outcome await(Future<Outcome> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stopped = true;
+			future.cancel(true);
+			return new Outcome(0, null, null);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Batch command failed unexpectedly", e.getCause());
+		}
+	}
+
+	/**
+	 * Delivers the output of the oldest pending command, recording the exception if the sink or the command throws.
+	 */
+	private void deliverNext(Deque<Future<Outcome>> pending) {
+		try {
+			deliver(await(pending.removeFirst()));
+		} catch (RuntimeException | Error e) {
+			fail(e);
+		}
+	}
+
+	private void deliver(Outcome outcome) {
+		if (outcome.output() == null) {
+			return;
+		}
+
+		synchronized (this) {
+			if (outcome.lineNumber() > stopLine) {
+				return;
+			}
+			sink.accept(outcome.output());
+			executed++;
+			if (outcome.output().success()) {
+				return;
+			}
+
+			failed++;
+			if (options.policy() != ErrorPolicy.CONTINUE) {
+				failures.add(new BatchResult.Failure(outcome.lineNumber(), outcome.line(), outcome.output().output()));
+			}
+			if (options.policy() == ErrorPolicy.STOP_ON_FAILURE) {
+				stop(outcome.lineNumber());
+			}
+		}
+	}
+
+	/**
+	 * Stops reading command lines, skipping the commands after the given line that are still in flight.
+	 */
+	private synchronized void stop(long lineNumber) {
+		stopLine = Math.min(stopLine, lineNumber);
+		stopped = true;
+	}
+
+	/**
+	 * Records the first unexpected exception and stops the batch, skipping every output still to be delivered.
+	 */
+	private synchronized void fail(Throwable e) {
+		if (failure == null) {
+			failure = e;
+		}
+		stop(0);
+	}
+
+	/**
+	 * The output of a command line, or null if it was not run.
+	 */
+	private record Outcome(long lineNumber, String line, CommandOutput output) {
+	}
+
+	/**
+	 * Interrupts a thread running a command when its time runs out, unless the command finished first.
+	 */
+	private static final class TimeoutGuard {
+		private final Thread thread;
+		private boolean finished = false;
+		private boolean expired = false;
+
+		TimeoutGuard(Thread thread) {
+			this.thread = thread;
+		}
+
+		synchronized void expire() {
+			if (!finished) {
+				expired = true;
+				thread.interrupt();
+			}
+		}
+
+		/**
+		 * Marks the command as finished.
+		 *
+		 * @return Whether the time ran out before the command finished.
+		 */
+		synchronized boolean finish() {
+			finished = true;
+			return expired;
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.models.CommandDescriptor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Cache of the commands found by scanning the classpath, stored in a directory so later processes can skip the scan.
+ * <p>
+ * Every entry is keyed by a fingerprint of the classpath, built from the path, size and modification time of every
+ * file in it, so it is discarded as soon as a class or a jar changes. The cache is best-effort: if it cannot be read
+ * or written, the classpath is scanned as if there was no cache.
+ */
+final class ScanCache {
+	private static final String HEADER = "minicli-scan-cache 1";
+
+	private final Path directory;
+
+	/**
+	 * @param directory The directory to store the cache in. It is created when the cache is first written.
+	 */
+	ScanCache(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Gets the default cache directory of an application, {@code $XDG_CACHE_HOME/<executable>} or
+	 * {@code ~/.cache/<executable>}.
+	 *
+	 * @param executable The name of the executable of the application.
+	 */
+	static Path defaultDirectory(String executable) {
+		var cacheHome = System.getenv("XDG_CACHE_HOME");
+		var base = cacheHome != null && !cacheHome.isBlank()
+			? Path.of(cacheHome)
+			: Path.of(System.getProperty("user.home"), ".cache");
+		var name = executable == null || executable.isBlank() ? "minicli" : executable.strip();
+		return base.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_"));
+	}
+
+	/**
+	 * Gets the commands of the given package, if they were cached with the same classpath fingerprint.
+	 *
+	 * @param prefix      The package the commands were found in.
+	 * @param fingerprint The fingerprint of the current classpath.
+	 * @return The descriptors of the commands, or null if they are not cached.
+	 */
+	List<CommandDescriptor> read(String prefix, String fingerprint) {
+		String content;
+		try (var channel = FileChannel.open(file(prefix), StandardOpenOption.READ)) {
+			var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			content = StandardCharsets.UTF_8.decode(buffer).toString();
+		} catch (IOException | RuntimeException e) {
+			// Missing or unreadable caches are scanned again
+			return null;
+		}
+
+		var lines = content.split("\n");
+		if (lines.length < 3 || !lines[0].equals(HEADER) || !lines[1].equals(prefix) || !lines[2].equals(fingerprint)) {
+			return null;
+		}
+
+		List<CommandDescriptor> descriptors = new ArrayList<>(lines.length - 3);
+		for (var i = 3; i < lines.length; i++) {
+			var columns = lines[i].split("\t", -1);
+			if (columns.length != 3) {
+				return null;
+			}
+			descriptors.add(new CommandDescriptor(columns[0], columns[1], columns[2]));
+		}
+		return descriptors;
+	}
+
+	/**
+	 * Stores the commands of the given package, replacing those stored before.
+	 *
+	 * @param prefix      The package the commands were found in.
+	 * @param fingerprint The fingerprint of the current classpath.
+	 * @param descriptors The descriptors of the commands.
+	 */
+	void write(String prefix, String fingerprint, List<CommandDescriptor> descriptors) {
+		var content = new StringBuilder(HEADER).append('\n')
+			.append(prefix).append('\n')
+			.append(fingerprint);
+		for (var descriptor : descriptors) {
+			content.append('\n')
+				.append(descriptor.className()).append('\t')
+				.append(descriptor.name()).append('\t')
+				.append(descriptor.shortname());
+		}
+
+		try {
+			Files.createDirectories(directory);
+			// Written to a temporary file first, so other processes never read a partial cache
+			var temporary = Files.createTempFile(directory, "scan", ".tmp");
+			try {
+				Files.writeString(temporary, content, StandardCharsets.UTF_8);
+				Files.move(temporary, file(prefix), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temporary);
+			}
+		} catch (IOException | RuntimeException e) {
+			// The cache is only an optimization, so the commands are scanned again next time
+		}
+	}
+
+	/**
+	 * Gets the fingerprint of the given classpath, from the path, size and modification time of its jars and of the
+	 * files in its directories.
+	 *
+	 * @param classpath The classpath, as in the {@code java.class.path} property.
+	 * @return The fingerprint of the classpath.
+	 */
+	static String fingerprint(String classpath) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("SHA-256 is not available", e);
+		}
+
+		for (var entry : classpath.split(File.pathSeparator)) {
+			if (entry.isEmpty()) {
+				continue;
+			}
+			var path = Path.of(entry);
+			update(digest, path.toAbsolutePath().toString());
+			if (Files.isDirectory(path)) {
+				try (Stream<Path> files = Files.walk(path)) {
+					files.sorted().forEach(file -> updateFile(digest, file));
+				} catch (IOException | UncheckedIOException e) {
+					// Unreadable directories are fingerprinted by their path only
+				}
+			} else {
+				updateFile(digest, path);
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static void updateFile(MessageDigest digest, Path file) {
+		try {
+			var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+			update(digest, file.toString() + '\0' + attributes.size() + '\0' + attributes.lastModifiedTime().toMillis());
+		} catch (IOException e) {
+			update(digest, file + "\0missing");
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) '\n');
+	}
+
+	private Path file(String prefix) {
+		var name = prefix.isEmpty() ? "_root" : prefix.replaceAll("[^A-Za-z0-9._-]", "_");
+		return directory.resolve("commands-" + name + ".cache");
+	}
+}
@@ -0,0 +1,47 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.models.CommandOutput;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Interface to be implemented by commands that produce large outputs, such as exports, so they write their output as
+ * they produce it instead of building it in memory.
+ * <p>
+ * When the command is run with {@link MinicliApplication#run(Class, String[], Writer)}, it writes directly to the
+ * given writer. Otherwise, its output is collected into a {@link CommandOutput}, so it should only be used for small
+ * outputs in that case.
+ *
+ * @since 2.1.0
+ */
+public interface StreamingRunnableCommand extends RunnableCommand {
+	/**
+	 * Invokes the command, writing its output to the given writer. The writer is not closed.
+	 * <p>
+	 * Byte channels and streams can be written to by wrapping them with {@link java.nio.channels.Channels#newWriter} or
+	 * {@link java.io.OutputStreamWriter}.
+	 *
+	 * @param out The writer to write the output to.
+	 * @return Whether the command was successful or not.
+	 * @throws IOException If the output cannot be written.
+	 */
+	boolean run(Writer out) throws IOException;
+
+	/**
+	 * Invokes the command, collecting its output in memory.
+	 * @return The output of the command.
+	 */
+	@Override
+	default CommandOutput run() {
+		var out = new StringWriter();
+		try {
+			var success = run(out);
+			return new CommandOutput(success, out.toString());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
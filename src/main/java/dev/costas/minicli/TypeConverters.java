@@ -0,0 +1,205 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.framework.TypeConverter;
+import dev.costas.minicli.models.CommandModel;
+import dev.costas.minicli.models.DataSize;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The {@link TypeConverter}s of an application: those registered on its builder, and the built-in ones for common
+ * types. It also caches the {@link CommandBinder}s built with them, since the converter of every parameter is part of
+ * its binding.
+ */
+final class TypeConverters {
+	/**
+	 * The converters of an application without registered converters.
+	 */
+	static final TypeConverters DEFAULT = new TypeConverters(Map.of());
+
+	private static final Pattern SIMPLE_DURATION = Pattern.compile("(\\d+)(ns|us|ms|s|m|h|d)");
+	private static final String BASE64_PREFIX = "base64:";
+
+	private static final Map<Class<?>, TypeConverter<?>> BUILT_IN = Map.ofEntries(
+		converter(Path.class, Path::of),
+		converter(URI.class, URI::create),
+		converter(BigDecimal.class, BigDecimal::new),
+		converter(BigInteger.class, BigInteger::new),
+		converter(Duration.class, TypeConverters::parseDuration),
+		converter(Instant.class, Instant::parse),
+		converter(DataSize.class, DataSize::parse),
+		converter(byte[].class, TypeConverters::parseBytes)
+	);
+
+	/**
+	 * The conversions of strings, primitives and their wrappers, as {@code (String)type} method handles, so primitives
+	 * are never boxed.
+	 */
+	private static final Map<Class<?>, MethodHandle> PARSERS = Map.of(
+		String.class, MethodHandles.identity(String.class),
+		int.class, parser(Integer.class, "parseInt", int.class),
+		long.class, parser(Long.class, "parseLong", long.class),
+		float.class, parser(Float.class, "parseFloat", float.class),
+		double.class, parser(Double.class, "parseDouble", double.class),
+		Integer.class, parser(Integer.class, "valueOf", Integer.class),
+		Long.class, parser(Long.class, "valueOf", Long.class),
+		Float.class, parser(Float.class, "valueOf", Float.class),
+		Double.class, parser(Double.class, "valueOf", Double.class)
+	);
+	private static final Set<Class<?>> WRAPPERS = Set.of(Integer.class, Long.class, Float.class, Double.class);
+	private static final MethodHandle CONVERT;
+
+	static {
+		try {
+			CONVERT = MethodHandles.publicLookup().findVirtual(TypeConverter.class, "convert", MethodType.methodType(Object.class, String.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static final ClassValue<TypeConverter<?>> ENUMS = new ClassValue<>() {
+		@Override
+		protected TypeConverter<?> computeValue(Class<?> type) {
+			return enumConverter(type);
+		}
+	};
+
+	private final Map<Class<?>, TypeConverter<?>> registered;
+	private final ClassValue<CommandBinder> binders = new ClassValue<>() {
+		@Override
+		protected CommandBinder computeValue(Class<?> type) {
+			return new CommandBinder(CommandModel.of(type), TypeConverters.this);
+		}
+	};
+
+	/**
+	 * @param registered The converters registered on the builder, by the type they convert to.
+	 */
+	TypeConverters(Map<Class<?>, TypeConverter<?>> registered) {
+		this.registered = Map.copyOf(registered);
+	}
+
+	private static <T> Map.Entry<Class<?>, TypeConverter<?>> converter(Class<T> type, TypeConverter<T> converter) {
+		return Map.entry(type, converter);
+	}
+
+	private static MethodHandle parser(Class<?> owner, String name, Class<?> type) {
+		try {
+			return MethodHandles.publicLookup().findStatic(owner, name, MethodType.methodType(type, String.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * Gets the binder of the given command, built with these converters the first time it is requested.
+	 *
+	 * @param model The model of the command.
+	 * @return The binder of the command.
+	 */
+	CommandBinder binder(CommandModel model) {
+		return binders.get(model.commandClass());
+	}
+
+	/**
+	 * Gets the conversion of a value to the given type as a {@code (String)type} method handle: the converter registered
+	 * for the type, or the built-in conversion of strings, primitives, their wrappers and the other supported types.
+	 *
+	 * @return The conversion, or null if the type is not supported.
+	 */
+	MethodHandle parser(Class<?> type) {
+		var converter = registered.get(type);
+		if (converter == null) {
+			var parser = PARSERS.get(type);
+			if (parser != null) {
+				return parser;
+			}
+			converter = type.isEnum() ? ENUMS.get(type) : BUILT_IN.get(type);
+		}
+		if (converter == null) {
+			return null;
+		}
+		return CONVERT.bindTo(converter).asType(MethodType.methodType(type, String.class));
+	}
+
+	/**
+	 * Checks whether a parameter of the given type must have a value. Primitives cannot be null, and the built-in
+	 * conversions of their wrappers reject missing values like those of the primitives do.
+	 */
+	boolean requiresValue(Class<?> type) {
+		return type.isPrimitive() || WRAPPERS.contains(type) && !registered.containsKey(type);
+	}
+
+	/**
+	 * Converts to the constant of an enum with the same name, ignoring case and treating dashes as underscores, so
+	 * {@code very-high} is {@code VERY_HIGH}.
+	 */
+	private static TypeConverter<?> enumConverter(Class<?> type) {
+		var constants = new HashMap<String, Object>();
+		for (var constant : type.getEnumConstants()) {
+			constants.putIfAbsent(enumKey(((Enum<?>) constant).name()), constant);
+		}
+		var byName = Map.copyOf(constants);
+
+		return value -> {
+			var constant = byName.get(enumKey(value));
+			if (constant == null) {
+				throw new IllegalArgumentException("No constant " + value + " in " + type.getSimpleName());
+			}
+			return constant;
+		};
+	}
+
+	private static String enumKey(String name) {
+		return name.strip().replace('-', '_').toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Parses a duration in ISO-8601 format, such as {@code PT1M30S}, or a number followed by one of the units
+	 * {@code ns}, {@code us}, {@code ms}, {@code s}, {@code m}, {@code h} or {@code d}, such as {@code 500ms}.
+	 */
+	static Duration parseDuration(String value) {
+		var matcher = SIMPLE_DURATION.matcher(value.strip());
+		if (!matcher.matches()) {
+			return Duration.parse(value.strip());
+		}
+
+		var amount = Long.parseLong(matcher.group(1));
+		return switch (matcher.group(2)) {
+			case "ns" -> Duration.ofNanos(amount);
+			case "us" -> Duration.ofNanos(Math.multiplyExact(amount, 1_000L));
+			case "ms" -> Duration.ofMillis(amount);
+			case "s" -> Duration.ofSeconds(amount);
+			case "m" -> Duration.ofMinutes(amount);
+			case "h" -> Duration.ofHours(amount);
+			default -> Duration.ofDays(amount);
+		};
+	}
+
+	/**
+	 * Parses bytes written in hexadecimal, optionally prefixed with {@code 0x}, or in Base64 when prefixed with
+	 * {@code base64:}.
+	 */
+	static byte[] parseBytes(String value) {
+		if (value.startsWith(BASE64_PREFIX)) {
+			return Base64.getDecoder().decode(value.substring(BASE64_PREFIX.length()));
+		}
+		var hex = value.startsWith("0x") || value.startsWith("0X") ? value.substring(2) : value;
+		return HexFormat.of().parseHex(hex);
+	}
+}
@@ -1,5 +1,7 @@
 package dev.costas.minicli.annotation;
 
+import dev.costas.minicli.models.Scope;
+
 import java.lang.annotation.*;
 
 /**
@@ -30,4 +32,20 @@ public @interface Command {
 	 * @return The description of the command.
 	 */
 	String description() default "";
+
+	/**
+	 * The group of the command, used to filter the help of applications with many commands.
+	 *
+	 * @return The group of the command, or an empty string if it has none.
+	 * @since 2.1.0
+	 */
+	String group() default "";
+
+	/**
+	 * How the instances of the command are created and reused between invocations.
+	 *
+	 * @return The scope of the command.
+	 * @since 2.1.0
+	 */
+	Scope scope() default Scope.DEFAULT;
 }
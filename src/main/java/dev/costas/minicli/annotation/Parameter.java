@@ -52,4 +52,16 @@ public @interface Parameter {
 	 * @return The default value of the parameter.
 	 */
 	String defaultValue() default "";
+
+	/**
+	 * The separator between the values of a multi-valued parameter, a field of type `int[]`, `long[]`, `double[]`,
+	 * `String[]` or `List<String>`. Such a parameter takes every value it is passed, whether it is repeated, as in
+	 * `--id 1 --id 2`, or its values are separated, as in `--ids 1,2`. The default value is split the same way.
+	 * <p>
+	 * If the separator is an empty string, values are not split.
+	 *
+	 * @return The separator between values.
+	 * @since 2.1.0
+	 */
+	String separator() default ",";
 }
@@ -3,57 +3,159 @@ package dev.costas.minicli.defaults;
 import dev.costas.minicli.models.Invocation;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
 /**
  * Default argument parser implementation.
+ * <p>
+ * If argument files are enabled, an argument starting with {@code @} is the path of a file whose arguments are parsed
+ * in its place, like in {@code javac}. Arguments in the file are split by whitespace, can be quoted as in
+ * {@link ArgumentTokenizer}, and a {@code #} at the start of an argument starts a comment. An argument starting with
+ * {@code @@} is passed as is, without one of the {@code @}.
  *
  * @since 1.0.0
  */
 public final class ArgumentParser {
+	private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+	private final boolean argumentFiles;
+
 	/**
-	 * Creates a new instance of the default argument parser.
+	 * Creates a new instance of the default argument parser, without argument files.
 	 */
 	public ArgumentParser() {
+		this(false);
+	}
+
+	/**
+	 * Creates a new instance of the default argument parser.
+	 *
+	 * @param argumentFiles whether arguments starting with {@code @} are expanded to the arguments in the file
+	 * @since 2.1.0
+	 */
+	public ArgumentParser(boolean argumentFiles) {
+		this.argumentFiles = argumentFiles;
 	}
 
 	/**
 	 * Parses the arguments and returns an invocation object.
+	 * <p>
+	 * The arguments are read in a single pass. The only strings created are the keys of the flags and parameters, and
+	 * values are stored as they were passed. The arguments of an argument file are parsed as they are read, so the
+	 * file is never held in memory as a whole.
+	 *
 	 * @param args the arguments to parse, including the name of the command
 	 * @return the invocation object
+	 * @throws RuntimeException if an argument file cannot be read
 	 */
 	public @NotNull Invocation parse(String @NotNull [] args) {
-		var invocation = new Invocation();
+		return parse(args, null);
+	}
+
+	/**
+	 * Parses the arguments like {@link #parse(String[])}, resolving relative paths, such as those of argument files,
+	 * against the given directory. The directory is kept in the invocation, so path parameters are resolved against it
+	 * as well.
+	 *
+	 * @param args             the arguments to parse, including the name of the command
+	 * @param workingDirectory the directory to resolve relative paths against, or null for the working directory of
+	 *                         the process
+	 * @return the invocation object
+	 * @throws RuntimeException if an argument file cannot be read
+	 * @since 2.1.0
+	 */
+	public @NotNull Invocation parse(String @NotNull [] args, Path workingDirectory) {
 		if (args.length == 0) {
+			var invocation = new Invocation();
+			invocation.setWorkingDirectory(workingDirectory);
 			return invocation;
 		}
+
+		// Sized for the worst case of every option having a value, so the maps are not resized while parsing
+		var capacity = (int) ((args.length - 1) / 2 / 0.75f) + 1;
+		var invocation = new Invocation(null, new HashMap<>(capacity), new HashMap<>(capacity));
 		invocation.setCommand(args[0]);
+		invocation.setWorkingDirectory(workingDirectory);
 
+		var state = new State(invocation);
 		for (var i = 1; i < args.length; i++) {
-			var arg = args[i].toLowerCase();
+			var arg = args[i];
+			if (argumentFiles && arg.startsWith("@")) {
+				if (arg.startsWith("@@")) {
+					state.accept(arg.substring(1));
+				} else {
+					var file = Path.of(arg.substring(1));
+					readArgumentFile(workingDirectory != null ? workingDirectory.resolve(file) : file, state);
+				}
+			} else {
+				state.accept(arg);
+			}
+		}
+		state.finish();
+		return invocation;
+	}
 
-			if (!arg.startsWith("-") && !arg.startsWith("--")) {
-				continue;
+	private static void readArgumentFile(Path file, State state) {
+		try (var channel = FileChannel.open(file, StandardOpenOption.READ);
+			 var reader = Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), FILE_BUFFER_SIZE)) {
+			new ArgumentTokenizer().tokenize(reader, state::accept);
+		} catch (IOException e) {
+			throw new RuntimeException("Cannot read argument file " + file, e);
+		} catch (IllegalArgumentException e) {
+			throw new RuntimeException("Invalid argument file " + file + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * The state of the parsing of an invocation, which receives the arguments one at a time.
+	 */
+	private static final class State {
+		private final Invocation invocation;
+		// The key of the last option, waiting for the next argument to know if it's a flag or a parameter
+		private String pendingKey;
+
+		State(Invocation invocation) {
+			this.invocation = invocation;
+		}
+
+		void accept(String arg) {
+			if (pendingKey != null) {
+				parseArg(pendingKey, arg, invocation);
+				pendingKey = null;
 			}
 
-			var next = i + 1 < args.length ? args[i + 1] : "";
+			if (arg.startsWith("-")) {
+				pendingKey = key(arg);
+			}
+		}
 
-			parseArg(arg, next, invocation);
+		void finish() {
+			if (pendingKey != null) {
+				// An option at the end is a flag, and is true for being present
+				invocation.putFlag(pendingKey, true);
+			}
 		}
-		return invocation;
 	}
 
-	private void parseArg(@NotNull String arg, @NotNull String value, Invocation invocation) {
-		var key = arg.startsWith("--") ? arg.substring(2) : arg.substring(1);
-		key = Invocation.normalize(key);
-
-		var normalizedValue = value.toLowerCase().trim();
+	private static String key(@NotNull String arg) {
+		var start = arg.startsWith("--") ? 2 : 1;
+		return Invocation.normalize(arg.substring(start));
+	}
 
-		if (value.startsWith("-") || value.startsWith("--") || value.equals("")) {
+	private static void parseArg(@NotNull String key, @NotNull String value, Invocation invocation) {
+		if (value.startsWith("-") || value.equals("")) {
 			// If the next thing is an argument or is nothing, then the current argument is a flag and is true for being present
 			invocation.putFlag(key, true);
-		} else if (normalizedValue.equals("true")) {
+		} else if (isTrimmedIgnoreCase(value, "true")) {
 			// If the next thing is "true", then the current argument is a flag and must be set to true
 			invocation.putFlag(key, true);
-		} else if (normalizedValue.equals("false")) {
+		} else if (isTrimmedIgnoreCase(value, "false")) {
 			// If the next thing is "false", then the current argument is a flag and must be set to false
 			invocation.putFlag(key, false);
 		} else {
@@ -61,4 +163,20 @@ public final class ArgumentParser {
 			invocation.putParameter(key, value);
 		}
 	}
+
+	/**
+	 * Checks if the value, ignoring leading and trailing whitespace, is the given literal ignoring case. It is the same
+	 * as {@code value.toLowerCase().trim().equals(literal)} without creating any string.
+	 */
+	private static boolean isTrimmedIgnoreCase(@NotNull String value, @NotNull String literal) {
+		var start = 0;
+		var end = value.length();
+		while (start < end && value.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && value.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		return end - start == literal.length() && value.regionMatches(true, start, literal, 0, literal.length());
+	}
 }
@@ -0,0 +1,142 @@
+package dev.costas.minicli.defaults;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Splits a command line into arguments, the way a shell would.
+ * <p>
+ * Arguments are separated by whitespace. Whitespace can be included in an argument by quoting it with single quotes,
+ * which keep everything verbatim, or double quotes, where {@code \"} and {@code \\} are escapes. Outside of quotes,
+ * a backslash escapes the next character.
+ * <p>
+ * Arguments can also be read from a {@link Reader}, such as an argument file, where a {@code #} at the start of an
+ * argument starts a comment until the end of the line.
+ *
+ * @since 2.1.0
+ */
+public final class ArgumentTokenizer {
+	private static final int BUFFER_SIZE = 8 * 1024;
+
+	/**
+	 * Creates a new instance of the tokenizer.
+	 */
+	public ArgumentTokenizer() {
+	}
+
+	/**
+	 * Splits the given line into arguments.
+	 *
+	 * @param line the line to split
+	 * @return the arguments, in the same order as in the line
+	 * @throws IllegalArgumentException if a quote is not closed
+	 */
+	public @NotNull String @NotNull [] tokenize(@NotNull CharSequence line) {
+		List<String> tokens = new ArrayList<>();
+		try {
+			tokenize(new StringReader(line.toString()), tokens::add, false, Math.max(1, Math.min(line.length(), BUFFER_SIZE)));
+		} catch (IOException e) {
+			// A StringReader never throws
+			throw new UncheckedIOException(e);
+		}
+		return tokens.toArray(new String[0]);
+	}
+
+	/**
+	 * Splits the text of the reader into arguments, passing each of them to the sink as soon as it is read, so the
+	 * text is never held in memory as a whole.
+	 *
+	 * @param in   the reader to read the text from. It is not closed.
+	 * @param sink the consumer of the arguments, in the same order as in the text
+	 * @throws IOException              if the reader cannot be read
+	 * @throws IllegalArgumentException if a quote is not closed
+	 */
+	public void tokenize(@NotNull Reader in, @NotNull Consumer<String> sink) throws IOException {
+		tokenize(in, sink, true, BUFFER_SIZE);
+	}
+
+	/**
+	 * Splits the text of the reader into arguments.
+	 *
+	 * @param comments   whether a {@code #} at the start of an argument comments out the rest of the line
+	 * @param bufferSize the number of characters read at once
+	 */
+	private void tokenize(Reader in, Consumer<String> sink, boolean comments, int bufferSize) throws IOException {
+		var buffer = new char[bufferSize];
+		var token = new StringBuilder();
+		// Whether there is a token being read, since quotes can produce empty tokens
+		var inToken = false;
+		var quote = '\0';
+		// Whether the last character was a backslash, whose meaning depends on the next character
+		var escape = false;
+		// Whether the rest of the line is a comment
+		var comment = false;
+
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			for (var i = 0; i < read; i++) {
+				var c = buffer[i];
+
+				if (comment) {
+					comment = c != '\n' && c != '\r';
+				} else if (escape) {
+					escape = false;
+					if (quote == '"' && c != '"' && c != '\\') {
+						// Only quotes and backslashes are escaped in double quotes, so the backslash is kept
+						token.append('\\');
+					}
+					token.append(c);
+				} else if (quote == '\'') {
+					if (c == '\'') {
+						quote = '\0';
+					} else {
+						token.append(c);
+					}
+				} else if (quote == '"') {
+					if (c == '"') {
+						quote = '\0';
+					} else if (c == '\\') {
+						escape = true;
+					} else {
+						token.append(c);
+					}
+				} else if (Character.isWhitespace(c)) {
+					if (inToken) {
+						sink.accept(token.toString());
+						token.setLength(0);
+						inToken = false;
+					}
+				} else if (comments && c == '#' && !inToken) {
+					comment = true;
+				} else {
+					inToken = true;
+					if (c == '\'' || c == '"') {
+						quote = c;
+					} else if (c == '\\') {
+						escape = true;
+					} else {
+						token.append(c);
+					}
+				}
+			}
+		}
+
+		if (quote != '\0') {
+			throw new IllegalArgumentException("Unterminated quote " + quote + " in arguments.");
+		}
+		if (escape) {
+			// A backslash at the end escapes nothing, so it is kept
+			token.append('\\');
+		}
+		if (inToken) {
+			sink.accept(token.toString());
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package dev.costas.minicli.defaults;
+
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.StreamingRunnableCommand;
+import dev.costas.minicli.framework.CommandExecutor;
+import dev.costas.minicli.models.CommandOutput;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implementation of the {@link CommandExecutor} interface that runs commands on an {@link ExecutorService}, such as a
+ * bounded pool or, on Java 21, {@code Executors.newVirtualThreadPerTaskExecutor()}, and interrupts them when they
+ * run out of time.
+ * <p>
+ * The caller still waits for the output, so it is meant for callers that run many commands concurrently, such as a
+ * server handling several clients, that need to bound the threads and time used by commands.
+ *
+ * @since 2.1.0
+ */
+public final class ConcurrentCommandExecutor implements CommandExecutor {
+	private final ExecutorService executor;
+	private final Duration timeout;
+	// Weak, so the instances are forgotten once they finish running and nobody references them
+	private final Set<RunnableCommand> abandoned = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+	/**
+	 * Creates a new executor running commands on the given executor service.
+	 *
+	 * @param executor The executor service to run the commands on. It is not shut down by this class.
+	 * @param timeout  The maximum time a command may run before it is interrupted, or null for no timeout.
+	 */
+	public ConcurrentCommandExecutor(ExecutorService executor, Duration timeout) {
+		this.executor = executor;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Executes the command on the executor service, waiting for its output.
+	 *
+	 * @param instance The command instance.
+	 * @return The output of the command, or an unsuccessful output if it failed or ran out of time.
+	 */
+	@Override
+	public CommandOutput execute(RunnableCommand instance) {
+		return await(instance, executor.submit(instance::run));
+	}
+
+	/**
+	 * Executes the command on the executor service, writing its output to the given writer and waiting for it to
+	 * finish.
+	 *
+	 * @param instance The command instance.
+	 * @param out      The writer to write the output to. It is not closed.
+	 * @return Whether the command was successful or not.
+	 * @throws IOException If the output cannot be written.
+	 */
+	@Override
+	public boolean execute(RunnableCommand instance, Writer out) throws IOException {
+		if (!(instance instanceof StreamingRunnableCommand streamingInstance)) {
+			return CommandExecutor.super.execute(instance, out);
+		}
+
+		// The output written before a failure stays written, so only the error is added after it
+		var gate = new GatedWriter(out);
+		var output = await(instance, executor.submit(() -> new CommandOutput(streamingInstance.run(gate), null)));
+		// Closed first, so a command still running after it timed out cannot write after the error
+		gate.close();
+		if (output.output() != null) {
+			out.write(output.output());
+		}
+		return output.success();
+	}
+
+	/**
+	 * Checks whether the command was interrupted because it ran out of time or the caller was interrupted, in which
+	 * case it may still be running.
+	 *
+	 * @param instance The command instance.
+	 * @return Whether the command may still be running.
+	 */
+	@Override
+	public boolean isAbandoned(RunnableCommand instance) {
+		return abandoned.contains(instance);
+	}
+
+	private CommandOutput await(RunnableCommand instance, Future<CommandOutput> future) {
+		try {
+			return timeout == null ? future.get() : future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			abandoned.add(instance);
+			future.cancel(true);
+			return new CommandOutput(false, "Command timed out after " + timeout.toMillis() + " ms.");
+		} catch (InterruptedException e) {
+			abandoned.add(instance);
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			return new CommandOutput(false, "Command interrupted.");
+		} catch (ExecutionException e) {
+			return new CommandOutput(false, Objects.requireNonNullElse(e.getCause().getMessage(), e.getCause().toString()));
+		}
+	}
+
+	/**
+	 * Passes the output of a command to the writer until it is closed, after which writing fails.
+	 */
+	private static final class GatedWriter extends Writer {
+		private final Writer out;
+		private boolean open = true;
+
+		GatedWriter(Writer out) {
+			this.out = out;
+		}
+
+		@Override
+		public synchronized void write(char[] chars, int offset, int length) throws IOException {
+			ensureOpen();
+			out.write(chars, offset, length);
+		}
+
+		@Override
+		public synchronized void write(String str, int offset, int length) throws IOException {
+			ensureOpen();
+			out.write(str, offset, length);
+		}
+
+		@Override
+		public synchronized void flush() throws IOException {
+			ensureOpen();
+			out.flush();
+		}
+
+		/**
+		 * Stops passing the output to the writer, waiting for a write in progress. The writer is not closed.
+		 */
+		@Override
+		public synchronized void close() {
+			open = false;
+		}
+
+		private void ensureOpen() throws IOException {
+			if (!open) {
+				throw new IOException("The command is no longer running");
+			}
+		}
+	}
+}
@@ -4,6 +4,8 @@ import dev.costas.minicli.RunnableCommand;
 import dev.costas.minicli.framework.CommandExecutor;
 import dev.costas.minicli.models.CommandOutput;
 
+import java.util.Objects;
+
 /**
  * Default implementation of the {@link CommandExecutor} interface.
  *
@@ -22,7 +24,7 @@ public final class DefaultCommandExecutor implements CommandExecutor {
 		try {
 			return instance.run();
 		} catch (Exception e) {
-			return new CommandOutput(false, e.getMessage());
+			return new CommandOutput(false, Objects.requireNonNullElse(e.getMessage(), e.toString()));
 		}
 	}
 
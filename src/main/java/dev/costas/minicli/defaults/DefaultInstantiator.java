@@ -2,25 +2,39 @@ package dev.costas.minicli.defaults;
 
 import dev.costas.minicli.framework.Instantiator;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 
 /**
  * Default implementation of the {@link Instantiator} interface.
  * <p>
- * It uses a constructor without parameters to instantiate the class.
+ * It uses a constructor without parameters to instantiate the class. The constructor of every class is looked up
+ * once, and cached afterwards.
  *
  * @since 2.0.0
  */
 public final class DefaultInstantiator implements Instantiator {
+	private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<>() {
+		@Override
+		protected MethodHandle computeValue(Class<?> type) {
+			try {
+				return MethodHandles.publicLookup()
+					.findConstructor(type, MethodType.methodType(void.class))
+					.asType(MethodType.methodType(Object.class));
+			} catch (NoSuchMethodException | IllegalAccessException e) {
+				throw new RuntimeException("Cannot instantiate class " + type.getName(), e);
+			}
+		}
+	};
+
 	@Override
 	public <T> T getInstance(Class<T> classToInstantiate) {
-
+		var constructor = CONSTRUCTORS.get(classToInstantiate);
 		try {
-			return classToInstantiate.getConstructor().newInstance();
-		} catch (InvocationTargetException | NoSuchMethodException | InstantiationException |
-				 IllegalAccessException e) {
+			return classToInstantiate.cast((Object) constructor.invokeExact());
+		} catch (Throwable e) {
 			throw new RuntimeException("Cannot instantiate class " + classToInstantiate.getName(), e);
 		}
-
 	}
 }
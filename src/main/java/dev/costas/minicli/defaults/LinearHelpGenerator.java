@@ -1,45 +1,102 @@
 package dev.costas.minicli.defaults;
 
-import dev.costas.minicli.annotation.Command;
-import dev.costas.minicli.annotation.Flag;
-import dev.costas.minicli.annotation.Parameter;
 import dev.costas.minicli.framework.HelpGenerator;
 import dev.costas.minicli.models.ApplicationParams;
+import dev.costas.minicli.models.CommandModel;
 import dev.costas.minicli.models.CommandOutput;
+import dev.costas.minicli.models.HelpQuery;
+import dev.costas.minicli.models.OptionModel;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 /**
  * Generates the help text for the commands by printing the command name and description, one command per line.
+ * <p>
+ * The help of every command is rendered once and shared by the help of all commands and the help of that command.
+ * The help of all commands is cached as well, until it is requested for another list of commands or another
+ * application. Lists are compared by identity, so a list must not be modified once its help was requested.
  *
  * @since 1.0.0
  */
 public final class LinearHelpGenerator implements HelpGenerator {
 	private static final String SPACES = " ".repeat(4);
 	private static final String SEPARATOR = " - ";
+	private static final ClassValue<String> COMMAND_HELP = new ClassValue<>() {
+		@Override
+		protected String computeValue(Class<?> type) {
+			return renderCommand(type);
+		}
+	};
+
+	private volatile RenderedHelp lastHelp;
 
 	public CommandOutput show(ApplicationParams application, List<Class<?>> classes) {
-		var sb = new StringBuilder();
-		sb.append("\nUsage: ").append(application.executable()).append(" [command] [options]\n");
-		sb.append("===== Available commands =====").append("\n");
+		var help = lastHelp;
+		// Compared by identity, since comparing the lists would take as long as rendering them
+		if (help == null || help.classes() != classes || !help.application().equals(application)) {
+			help = new RenderedHelp(application, classes, new CommandOutput(true, render(application, classes)));
+			lastHelp = help;
+		}
+		return help.output();
+	}
 
+	private String render(ApplicationParams application, List<Class<?>> classes) {
+		var sb = new StringBuilder(header(application));
 		for (var clazz : classes) {
 			sb.append("\n").append(this.showCommand(clazz));
 		}
+		sb.append(footer(application));
 
-		sb
-			.append("\n")
-			.append(SPACES).append("h, help").append(SEPARATOR).append("Shows this help").append("\n")
-			.append(SPACES).append("q, quit").append(SEPARATOR).append("Quits the application").append("\n")
-			.append(SPACES).append("v, version").append(SEPARATOR).append("Shows the application version").append("\n")
-			.append("\n")
-			.append(application.name()).append(" ").append(application.version()).append("\n");
+		return sb.toString();
+	}
+
+	/**
+	 * Writes the help of the commands matching the query one command at a time. When not every matching command is
+	 * shown, the range of commands shown is written after them.
+	 */
+	@Override
+	public boolean write(ApplicationParams application, List<Class<?>> classes, HelpQuery query, Writer out) throws IOException {
+		out.write(header(application));
 
-		return new CommandOutput(true, sb.toString());
+		var matched = 0;
+		var shown = 0;
+		for (var clazz : classes) {
+			if (!query.matches(CommandModel.of(clazz))) {
+				continue;
+			}
+			matched++;
+			if (matched > query.offset() && shown < query.limit()) {
+				out.write("\n");
+				out.write(this.showCommand(clazz));
+				shown++;
+			}
+		}
+
+		if (shown < matched) {
+			out.write("\n" + SPACES + "Showing " + shown + " of " + matched + " commands");
+			if (shown > 0) {
+				out.write(", from " + (query.offset() + 1) + " to " + (query.offset() + shown));
+			}
+			out.write(".\n");
+		}
+		out.write(footer(application));
+		return true;
+	}
+
+	private static String header(ApplicationParams application) {
+		return "\nUsage: " + application.executable() + " [command] [options]\n"
+			+ "===== Available commands =====\n";
+	}
+
+	private static String footer(ApplicationParams application) {
+		return "\n"
+			+ SPACES + "h, help" + SEPARATOR + "Shows this help" + "\n"
+			+ SPACES + "q, quit" + SEPARATOR + "Quits the application" + "\n"
+			+ SPACES + "v, version" + SEPARATOR + "Shows the application version" + "\n"
+			+ "\n"
+			+ application.name() + " " + application.version() + "\n";
 	}
 
 	@Override
@@ -48,48 +105,38 @@ public final class LinearHelpGenerator implements HelpGenerator {
 	}
 
 	private String showCommand(Class<?> clazz) {
-		var commandAnnotation = clazz.getAnnotation(Command.class);
-		var parameters = this.getParameters(clazz);
-		var flags = this.getFlags(clazz);
+		return COMMAND_HELP.get(clazz);
+	}
+
+	private static String renderCommand(Class<?> clazz) {
+		var model = CommandModel.of(clazz);
 
 		var sb = new StringBuilder(SPACES);
-		if (!commandAnnotation.shortname().isEmpty()) {
-			sb.append(commandAnnotation.shortname()).append(", ");
+		if (!model.shortname().isEmpty()) {
+			sb.append(model.shortname()).append(", ");
 		}
-		sb.append(commandAnnotation.name());
-		sb.append(SEPARATOR).append(commandAnnotation.description());
-
-		sb.append(printFlags(flags));
-		sb.append(printParameters(parameters));
+		sb.append(model.name());
+		sb.append(SEPARATOR).append(model.description());
 
-		return sb.toString();
-	}
+		sb.append(printOptions("Flags:", model.flags()));
+		sb.append(printOptions("Parameters:", model.parameters()));
 
-	private String printFlags(List<Flag> flags) {
-		var sb = new StringBuilder();
-		if (flags.size() > 0) {
-			sb.append("\n");
-			sb.append(SPACES.repeat(2)).append("Flags:").append("\n");
-			for (var flag : flags) {
-				sb.append(printOption(flag.name(), flag.shortname(), flag.description())).append("\n");
-			}
-		}
 		return sb.toString();
 	}
 
-	private String printParameters(List<Parameter> parameters) {
+	private static String printOptions(String title, List<OptionModel> options) {
 		var sb = new StringBuilder();
-		if (parameters.size() > 0) {
+		if (options.size() > 0) {
 			sb.append("\n");
-			sb.append(SPACES.repeat(2)).append("Parameters:").append("\n");
-			for (var parameter : parameters) {
-				sb.append(printOption(parameter.name(), parameter.shortname(), parameter.description())).append("\n");
+			sb.append(SPACES.repeat(2)).append(title).append("\n");
+			for (var option : options) {
+				sb.append(printOption(option.name(), option.shortname(), option.description())).append("\n");
 			}
 		}
 		return sb.toString();
 	}
 
-	private String printOption(String name, String shortname, String description) {
+	private static String printOption(String name, String shortname, String description) {
 		var line = new StringBuilder(SPACES.repeat(3));
 		if (!shortname.equals("")) {
 			line.append("-").append(shortname).append(", ");
@@ -100,19 +147,9 @@ public final class LinearHelpGenerator implements HelpGenerator {
 		return line.toString();
 	}
 
-	private <T extends Annotation> List<T> getArgs(Class<?> clazz, Class<T> type) {
-		return Arrays.stream(clazz.getDeclaredFields())
-			.filter(f -> f.isAnnotationPresent(type))
-			.sorted(Comparator.comparing(Field::getName))
-			.map(f -> f.getAnnotation(type))
-			.toList();
-	}
-
-	private List<Parameter> getParameters(Class<?> clazz) {
-		return this.getArgs(clazz, Parameter.class);
-	}
-
-	private List<Flag> getFlags(Class<?> clazz) {
-		return this.getArgs(clazz, Flag.class);
+	/**
+	 * The help of all the given commands, rendered for an application.
+	 */
+	private record RenderedHelp(ApplicationParams application, List<Class<?>> classes, CommandOutput output) {
 	}
 }
@@ -9,6 +9,7 @@ public class IllegalValueFormatException extends Exception {
 	private final String valuePassed;
 
 	public IllegalValueFormatException(String parameterName, String valuePassed) {
+		super("Invalid value '" + valuePassed + "' for parameter " + parameterName + ".");
 		this.parameterName = parameterName;
 		this.valuePassed = valuePassed;
 	}
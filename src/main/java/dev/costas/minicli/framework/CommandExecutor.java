@@ -1,8 +1,18 @@
 package dev.costas.minicli.framework;
 
+import dev.costas.minicli.AsyncRunnableCommand;
 import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.StreamingRunnableCommand;
 import dev.costas.minicli.models.CommandOutput;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
 /**
  * Receives a class and an invocation and executes the command by injecting the parameters and flags, and calling the run method.
  *
@@ -18,4 +28,93 @@ public interface CommandExecutor {
 	 * @return The output of the command.
 	 */
 	CommandOutput execute(RunnableCommand instance);
-}
\ No newline at end of file
+
+	/**
+	 * Executes the command, writing its output to the given writer.
+	 * <p>
+	 * A {@link StreamingRunnableCommand} writes directly to the writer as it runs, and an exception it throws is
+	 * written as its output. The output of other commands is executed with {@link #execute(RunnableCommand)} and
+	 * written once they finish.
+	 *
+	 * @param instance The command instance.
+	 * @param out      The writer to write the output to. It is not closed.
+	 * @return Whether the command was successful or not.
+	 * @throws IOException If the output cannot be written.
+	 * @since 2.1.0
+	 */
+	default boolean execute(RunnableCommand instance, Writer out) throws IOException {
+		if (instance instanceof StreamingRunnableCommand streamingInstance) {
+			try {
+				return streamingInstance.run(out);
+			} catch (RuntimeException e) {
+				out.write(Objects.requireNonNullElse(e.getMessage(), e.toString()));
+				return false;
+			}
+		}
+
+		var output = execute(instance);
+		if (output.output() != null) {
+			out.write(output.output());
+		}
+		return output.success();
+	}
+
+	/**
+	 * Checks whether this executor stopped waiting for a command before it finished, such as when it ran out of time,
+	 * so the command may still be running and its instance cannot be reused.
+	 *
+	 * @param instance The command instance, executed by this executor.
+	 * @return Whether the command may still be running.
+	 * @since 2.1.0
+	 */
+	default boolean isAbandoned(RunnableCommand instance) {
+		return false;
+	}
+
+	/**
+	 * Executes the command without blocking the caller.
+	 * <p>
+	 * An {@link AsyncRunnableCommand} is started on the calling thread, and its own future is returned, or a failed one
+	 * if it throws before returning it. Other commands are run with {@link #execute(RunnableCommand)} on the given
+	 * executor, and are interrupted if the returned future is cancelled or completed before they finish, such as when
+	 * it times out.
+	 *
+	 * @param instance The command instance.
+	 * @param executor The executor to run the command on.
+	 * @return A future completed with the output of the command.
+	 * @since 2.1.0
+	 */
+	default CompletableFuture<CommandOutput> executeAsync(RunnableCommand instance, Executor executor) {
+		if (instance instanceof AsyncRunnableCommand asyncInstance) {
+			// A command failing before it returns its future fails like one whose future failed
+			try {
+				return asyncInstance.runAsync();
+			} catch (RuntimeException e) {
+				return CompletableFuture.failedFuture(e);
+			}
+		}
+
+		var result = new CompletableFuture<CommandOutput>();
+		var task = new FutureTask<>(() -> execute(instance)) {
+			@Override
+			protected void done() {
+				if (isCancelled()) {
+					result.cancel(false);
+					return;
+				}
+				try {
+					result.complete(get());
+				} catch (ExecutionException e) {
+					result.completeExceptionally(e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					result.completeExceptionally(e);
+				}
+			}
+		};
+		// Interrupts the command if the future is completed by someone else, such as when it is cancelled
+		result.whenComplete((output, e) -> task.cancel(true));
+		executor.execute(task);
+		return result;
+	}
+}
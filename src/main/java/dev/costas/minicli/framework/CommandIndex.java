@@ -0,0 +1,42 @@
+package dev.costas.minicli.framework;
+
+import dev.costas.minicli.models.CommandDescriptor;
+
+import java.util.List;
+
+/**
+ * A precomputed list of the command classes of an application, so they don't need to be discovered by scanning the
+ * classpath at runtime.
+ * <p>
+ * Implementations are usually generated at compile time by the
+ * {@link dev.costas.minicli.processor.CommandProcessor annotation processor}, which also writes the
+ * {@value #RESOURCE} index read by the framework when no index is set explicitly.
+ *
+ * @since 2.1.0
+ */
+public interface CommandIndex {
+	/**
+	 * The classpath resource where the annotation processor lists the commands, one per line. Every line has the
+	 * binary name of the class, the name and the short name of the command, separated by tabs. Lines with only the
+	 * name of the class are accepted too, but their class has to be loaded to find the name of the command.
+	 */
+	String RESOURCE = "META-INF/minicli/commands";
+
+	/**
+	 * Gets the classes annotated with {@link dev.costas.minicli.annotation.Command}.
+	 *
+	 * @return The command classes.
+	 */
+	List<Class<?>> getCommands();
+
+	/**
+	 * Gets the names of the commands and their classes. The framework dispatches with them, so only the class of the
+	 * invoked command is loaded. By default, they are read from the classes returned by {@link #getCommands()}.
+	 *
+	 * @return The descriptors of the commands.
+	 * @since 2.1.0
+	 */
+	default List<CommandDescriptor> getDescriptors() {
+		return getCommands().stream().map(CommandDescriptor::of).toList();
+	}
+}
@@ -1,8 +1,12 @@
 package dev.costas.minicli.framework;
 
 import dev.costas.minicli.models.ApplicationParams;
+import dev.costas.minicli.models.CommandModel;
 import dev.costas.minicli.models.CommandOutput;
+import dev.costas.minicli.models.HelpQuery;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 /**
@@ -24,4 +28,30 @@ public interface HelpGenerator {
 	 * @param clazz The class of the command to generate the help text for.
 	 */
 	CommandOutput show(ApplicationParams application, Class<?> clazz);
+
+	/**
+	 * Writes the help text for the commands matching the query, as it is generated, so the help of applications with
+	 * many commands is never held in memory as a whole.
+	 * <p>
+	 * By default, the help of the page of matching commands is generated with {@link #show(ApplicationParams, List)}
+	 * and written at once.
+	 *
+	 * @param application The application parameters.
+	 * @param classes     The classes of the commands to generate the help text for.
+	 * @param query       The commands to show.
+	 * @param out         The writer to write the help text to. It is not closed.
+	 * @return Whether the help was generated successfully.
+	 * @throws IOException If the help cannot be written.
+	 * @since 2.1.0
+	 */
+	default boolean write(ApplicationParams application, List<Class<?>> classes, HelpQuery query, Writer out) throws IOException {
+		var page = classes.stream()
+			.filter(c -> query.matches(CommandModel.of(c)))
+			.skip(query.offset())
+			.limit(query.limit())
+			.toList();
+		var output = show(application, page);
+		out.write(output.output());
+		return output.success();
+	}
 }
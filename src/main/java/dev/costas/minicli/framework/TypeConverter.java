@@ -0,0 +1,23 @@
+package dev.costas.minicli.framework;
+
+/**
+ * Interface for converting the value passed to a parameter to the type of its field.
+ * <p>
+ * Converters are registered by type with {@code MinicliApplicationBuilder#withTypeConverter}, and resolved once for
+ * every parameter of that type, so they are called directly every time the parameter is set.
+ *
+ * @param <T> The type the values are converted to.
+ * @since 2.1.0
+ */
+@FunctionalInterface
+public interface TypeConverter<T> {
+	/**
+	 * Converts the given value.
+	 *
+	 * @param value The value passed to the parameter, or its default value. It is never null.
+	 * @return The converted value.
+	 * @throws IllegalArgumentException If the value has an invalid format. Any other runtime exception is reported the
+	 *                                  same way, as an invalid value for the parameter.
+	 */
+	T convert(String value);
+}
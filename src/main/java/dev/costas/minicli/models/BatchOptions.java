@@ -0,0 +1,98 @@
+package dev.costas.minicli.models;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Options to run a batch of commands concurrently.
+ *
+ * @param parallelism The maximum number of commands running at the same time. Up to twice as many commands are read
+ *                    ahead and kept in flight, so a slow command doesn't let the input be read without limit.
+ * @param timeout     The maximum time a command may run before it is interrupted and reported as failed, or null to
+ *                    let commands run for as long as they need.
+ * @param ordered     Whether outputs are passed to the sink in the order of the command lines. Otherwise, they are
+ *                    passed as soon as each command finishes.
+ * @param policy      What to do when a command fails. When the batch stops, the commands on later lines that are
+ *                    still in flight are not delivered, although in an unordered batch those that finished before the
+ *                    failing command may already have been.
+ * @param executor    The executor to run the commands on, such as {@code Executors.newVirtualThreadPerTaskExecutor()}
+ *                    on Java 21, or null to use a {@link java.util.concurrent.ForkJoinPool} with the given parallelism.
+ *                    It is not shut down after the batch.
+ * @since 2.1.0
+ */
+public record BatchOptions(
+	int parallelism,
+	Duration timeout,
+	boolean ordered,
+	ErrorPolicy policy,
+	ExecutorService executor
+) {
+	/**
+	 * Creates the options, checking that the parallelism is positive.
+	 */
+	public BatchOptions {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be at least 1.");
+		}
+	}
+
+	/**
+	 * Gets the default options: as many commands as processors at the same time, without timeout, delivering the
+	 * outputs in order and collecting the failures.
+	 *
+	 * @return The default options.
+	 */
+	public static BatchOptions defaults() {
+		return new BatchOptions(Runtime.getRuntime().availableProcessors(), null, true, ErrorPolicy.COLLECT, null);
+	}
+
+	/**
+	 * Copies the options, changing the parallelism.
+	 *
+	 * @param parallelism The maximum number of commands running at the same time.
+	 * @return The new options.
+	 */
+	public BatchOptions withParallelism(int parallelism) {
+		return new BatchOptions(parallelism, timeout, ordered, policy, executor);
+	}
+
+	/**
+	 * Copies the options, changing the timeout of every command.
+	 *
+	 * @param timeout The maximum time a command may run, or null for no timeout.
+	 * @return The new options.
+	 */
+	public BatchOptions withTimeout(Duration timeout) {
+		return new BatchOptions(parallelism, timeout, ordered, policy, executor);
+	}
+
+	/**
+	 * Copies the options, changing whether outputs are delivered in order.
+	 *
+	 * @param ordered Whether outputs are passed to the sink in the order of the command lines.
+	 * @return The new options.
+	 */
+	public BatchOptions withOrdered(boolean ordered) {
+		return new BatchOptions(parallelism, timeout, ordered, policy, executor);
+	}
+
+	/**
+	 * Copies the options, changing the error policy.
+	 *
+	 * @param policy What to do when a command fails.
+	 * @return The new options.
+	 */
+	public BatchOptions withPolicy(ErrorPolicy policy) {
+		return new BatchOptions(parallelism, timeout, ordered, policy, executor);
+	}
+
+	/**
+	 * Copies the options, changing the executor.
+	 *
+	 * @param executor The executor to run the commands on, or null to use a {@link java.util.concurrent.ForkJoinPool}.
+	 * @return The new options.
+	 */
+	public BatchOptions withExecutor(ExecutorService executor) {
+		return new BatchOptions(parallelism, timeout, ordered, policy, executor);
+	}
+}
@@ -0,0 +1,41 @@
+package dev.costas.minicli.models;
+
+import java.util.List;
+
+/**
+ * Represents the result of running a batch of commands.
+ *
+ * @param executed The number of commands run.
+ * @param failed   The number of commands that failed.
+ * @param failures The failed commands. It only contains every failure with {@link ErrorPolicy#COLLECT}, and the one
+ *                 that stopped the batch with {@link ErrorPolicy#STOP_ON_FAILURE}.
+ * @since 2.1.0
+ */
+public record BatchResult(
+	long executed,
+	long failed,
+	List<Failure> failures
+) {
+	/**
+	 * Whether every command succeeded.
+	 *
+	 * @return True if no command failed.
+	 */
+	public boolean success() {
+		return failed == 0;
+	}
+
+	/**
+	 * Represents a command of the batch that failed.
+	 *
+	 * @param lineNumber The number of the line of the command, starting at 1.
+	 * @param line       The command line.
+	 * @param message    The output or error message of the command.
+	 */
+	public record Failure(
+		long lineNumber,
+		String line,
+		String message
+	) {
+	}
+}
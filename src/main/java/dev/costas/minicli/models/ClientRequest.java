@@ -0,0 +1,23 @@
+package dev.costas.minicli.models;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A command invocation forwarded to a daemon by a client, with the environment the client was started in.
+ *
+ * @param args             The arguments of the command, including its name.
+ * @param environment      The environment variables of the client.
+ * @param workingDirectory The working directory of the client.
+ * @since 2.1.0
+ */
+public record ClientRequest(List<String> args, Map<String, String> environment, Path workingDirectory) {
+	/**
+	 * Creates a new request, copying the arguments and the environment.
+	 */
+	public ClientRequest {
+		args = List.copyOf(args);
+		environment = Map.copyOf(environment);
+	}
+}
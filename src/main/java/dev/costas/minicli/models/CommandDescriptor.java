@@ -0,0 +1,31 @@
+package dev.costas.minicli.models;
+
+import dev.costas.minicli.annotation.Command;
+
+/**
+ * The name of a command and the class implementing it, enough to dispatch to the command without loading its class.
+ *
+ * @param className The binary name of the class of the command.
+ * @param name      The name of the command.
+ * @param shortname The short name of the command, or an empty string if it has none.
+ * @since 2.1.0
+ */
+public record CommandDescriptor(
+	String className,
+	String name,
+	String shortname
+) {
+	/**
+	 * Gets the descriptor of the given command class, reading its annotation.
+	 *
+	 * @param clazz The class of the command, annotated with {@link Command}.
+	 * @return The descriptor of the command.
+	 */
+	public static CommandDescriptor of(Class<?> clazz) {
+		var command = clazz.getAnnotation(Command.class);
+		if (command == null) {
+			throw new RuntimeException("Class " + clazz.getName() + " is not annotated with @Command.");
+		}
+		return new CommandDescriptor(clazz.getName(), command.name(), command.shortname());
+	}
+}
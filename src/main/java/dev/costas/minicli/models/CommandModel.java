@@ -0,0 +1,95 @@
+package dev.costas.minicli.models;
+
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.annotation.Flag;
+import dev.costas.minicli.annotation.Parameter;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Metadata of a command, read once from its class and annotations and shared by the framework, so the annotations and
+ * fields are not read again on every invocation.
+ *
+ * @param commandClass        The class of the command.
+ * @param name                The name of the command.
+ * @param shortname           The short name of the command, or an empty string if it has none.
+ * @param description         The description of the command.
+ * @param normalizedName      The name of the command, {@link Invocation#normalize(String) normalized}.
+ * @param normalizedShortname The short name of the command, {@link Invocation#normalize(String) normalized}.
+ * @param flags               The flags of the command, sorted by field name.
+ * @param parameters          The parameters of the command, sorted by field name.
+ * @param scope               The scope of the command instances, as declared by the command.
+ * @param group               The group of the command, or an empty string if it has none.
+ * @since 2.1.0
+ */
+public record CommandModel(
+	Class<?> commandClass,
+	String name,
+	String shortname,
+	String description,
+	String normalizedName,
+	String normalizedShortname,
+	List<OptionModel> flags,
+	List<OptionModel> parameters,
+	Scope scope,
+	String group
+) {
+	private static final ClassValue<CommandModel> MODELS = new ClassValue<>() {
+		@Override
+		protected CommandModel computeValue(Class<?> type) {
+			return create(type);
+		}
+	};
+
+	/**
+	 * Gets the model of the given command class. It is built the first time it is requested, and cached afterwards.
+	 *
+	 * @param clazz The class of the command, annotated with {@link Command}.
+	 * @return The model of the command.
+	 */
+	public static CommandModel of(Class<?> clazz) {
+		return MODELS.get(clazz);
+	}
+
+	private static CommandModel create(Class<?> clazz) {
+		var command = clazz.getAnnotation(Command.class);
+		if (command == null) {
+			throw new RuntimeException("Class " + clazz.getName() + " is not annotated with @Command.");
+		}
+
+		var fields = clazz.getDeclaredFields();
+		Arrays.sort(fields, Comparator.comparing(Field::getName));
+
+		List<OptionModel> flags = new ArrayList<>();
+		List<OptionModel> parameters = new ArrayList<>();
+		for (Field field : fields) {
+			var flag = field.getAnnotation(Flag.class);
+			if (flag != null) {
+				flags.add(OptionModel.of(field, flag));
+				continue; // Flags cannot be parameters
+			}
+
+			var parameter = field.getAnnotation(Parameter.class);
+			if (parameter != null) {
+				parameters.add(OptionModel.of(field, parameter));
+			}
+		}
+
+		return new CommandModel(
+			clazz,
+			command.name(),
+			command.shortname(),
+			command.description(),
+			Invocation.normalize(command.name()),
+			Invocation.normalize(command.shortname()),
+			List.copyOf(flags),
+			List.copyOf(parameters),
+			command.scope(),
+			command.group()
+		);
+	}
+}
@@ -0,0 +1,79 @@
+package dev.costas.minicli.models;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * An amount of data, such as the size of a file or a buffer, in bytes.
+ *
+ * @param bytes The number of bytes. It cannot be negative.
+ * @since 2.1.0
+ */
+public record DataSize(long bytes) implements Comparable<DataSize> {
+	private static final Pattern FORMAT = Pattern.compile("\\s*(\\d+(?:\\.\\d+)?)\\s*([A-Za-z]*)\\s*");
+	private static final Map<String, Long> UNITS = Map.ofEntries(
+		Map.entry("", 1L),
+		Map.entry("b", 1L),
+		Map.entry("kb", 1_000L),
+		Map.entry("mb", 1_000_000L),
+		Map.entry("gb", 1_000_000_000L),
+		Map.entry("tb", 1_000_000_000_000L),
+		Map.entry("pb", 1_000_000_000_000_000L),
+		Map.entry("kib", 1L << 10),
+		Map.entry("mib", 1L << 20),
+		Map.entry("gib", 1L << 30),
+		Map.entry("tib", 1L << 40),
+		Map.entry("pib", 1L << 50)
+	);
+
+	/**
+	 * Creates a new data size.
+	 *
+	 * @throws IllegalArgumentException If the number of bytes is negative.
+	 */
+	public DataSize {
+		if (bytes < 0) {
+			throw new IllegalArgumentException("A data size cannot be negative.");
+		}
+	}
+
+	/**
+	 * Parses a data size made of a number and an optional unit, such as {@code 512MiB}, {@code 1.5GB} or {@code 64}.
+	 * <p>
+	 * Units are case-insensitive. {@code kB}, {@code MB}, {@code GB}, {@code TB} and {@code PB} are powers of 1000,
+	 * {@code KiB}, {@code MiB}, {@code GiB}, {@code TiB} and {@code PiB} are powers of 1024, and a number without a
+	 * unit or with {@code B} is a number of bytes. Fractions of a byte are rounded up.
+	 *
+	 * @param text The text to parse.
+	 * @return The data size.
+	 * @throws IllegalArgumentException If the text is not a data size, or it is too large.
+	 */
+	public static DataSize parse(CharSequence text) {
+		var matcher = FORMAT.matcher(text);
+		if (!matcher.matches()) {
+			throw new IllegalArgumentException("Invalid data size '" + text + "'.");
+		}
+		var unit = UNITS.get(matcher.group(2).toLowerCase(Locale.ROOT));
+		if (unit == null) {
+			throw new IllegalArgumentException("Unknown data size unit '" + matcher.group(2) + "'.");
+		}
+
+		try {
+			var bytes = new BigDecimal(matcher.group(1))
+				.multiply(BigDecimal.valueOf(unit))
+				.setScale(0, RoundingMode.CEILING)
+				.longValueExact();
+			return new DataSize(bytes);
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException("Data size '" + text + "' is too large.", e);
+		}
+	}
+
+	@Override
+	public int compareTo(DataSize other) {
+		return Long.compare(bytes, other.bytes);
+	}
+}
@@ -0,0 +1,21 @@
+package dev.costas.minicli.models;
+
+/**
+ * What to do when a command fails while running a batch of commands.
+ *
+ * @since 2.1.0
+ */
+public enum ErrorPolicy {
+	/**
+	 * Stop running commands after the first failure.
+	 */
+	STOP_ON_FAILURE,
+	/**
+	 * Keep running commands, only counting the failures.
+	 */
+	CONTINUE,
+	/**
+	 * Keep running commands, and keep every failure in the result.
+	 */
+	COLLECT
+}
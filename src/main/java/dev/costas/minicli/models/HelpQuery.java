@@ -0,0 +1,97 @@
+package dev.costas.minicli.models;
+
+/**
+ * Selects the commands shown by the help, and the page of them to show.
+ *
+ * @param prefix Only commands whose name or short name starts with it are shown, ignoring case, or null to show
+ *               commands with any name.
+ * @param group  Only commands in this group are shown, ignoring case, or null to show commands in any group.
+ * @param offset The number of matching commands to skip.
+ * @param limit  The maximum number of commands to show.
+ * @since 2.1.0
+ */
+public record HelpQuery(
+	String prefix,
+	String group,
+	int offset,
+	int limit
+) {
+	/**
+	 * Creates the query, checking that the offset and the limit are not negative.
+	 */
+	public HelpQuery {
+		if (offset < 0) {
+			throw new IllegalArgumentException("Offset cannot be negative.");
+		}
+		if (limit < 0) {
+			throw new IllegalArgumentException("Limit cannot be negative.");
+		}
+	}
+
+	/**
+	 * Gets a query showing every command.
+	 *
+	 * @return The query.
+	 */
+	public static HelpQuery all() {
+		return new HelpQuery(null, null, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Copies the query, changing the prefix of the commands.
+	 *
+	 * @param prefix The prefix of the name or short name of the commands, or null for any name.
+	 * @return The new query.
+	 */
+	public HelpQuery withPrefix(String prefix) {
+		return new HelpQuery(prefix, group, offset, limit);
+	}
+
+	/**
+	 * Copies the query, changing the group of the commands.
+	 *
+	 * @param group The group of the commands, or null for any group.
+	 * @return The new query.
+	 */
+	public HelpQuery withGroup(String group) {
+		return new HelpQuery(prefix, group, offset, limit);
+	}
+
+	/**
+	 * Copies the query, changing the number of commands skipped.
+	 *
+	 * @param offset The number of matching commands to skip.
+	 * @return The new query.
+	 */
+	public HelpQuery withOffset(int offset) {
+		return new HelpQuery(prefix, group, offset, limit);
+	}
+
+	/**
+	 * Copies the query, changing the maximum number of commands shown.
+	 *
+	 * @param limit The maximum number of commands to show.
+	 * @return The new query.
+	 */
+	public HelpQuery withLimit(int limit) {
+		return new HelpQuery(prefix, group, offset, limit);
+	}
+
+	/**
+	 * Whether the given command matches the prefix and the group of the query. The page is not taken into account.
+	 *
+	 * @param model The model of the command.
+	 * @return Whether the command matches.
+	 */
+	public boolean matches(CommandModel model) {
+		if (group != null && !group.equalsIgnoreCase(model.group())) {
+			return false;
+		}
+		if (prefix == null) {
+			return true;
+		}
+		var normalizedPrefix = Invocation.normalize(prefix);
+		return model.normalizedName().startsWith(normalizedPrefix)
+			|| (!model.normalizedShortname().isEmpty() && model.normalizedShortname().startsWith(normalizedPrefix));
+	}
+}
@@ -1,6 +1,9 @@
 package dev.costas.minicli.models;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -21,6 +24,20 @@ public class Invocation {
 	 * The flags of the command. A flag is a key-boolean pair, to enable or disable certain behaviour.
  	 */
 	private final Map<String, Boolean> flags;
+	/**
+	 * Every value of the parameters passed more than once, in the order they were passed. Parameters passed once only
+	 * have their value in {@link #params}, so no list is created for them.
+	 */
+	private Map<String, List<String>> repeatedParams;
+	/**
+	 * The key of every value set with {@link #putParameter(String, String)}, in the order they were set, so the values
+	 * of a parameter passed by several names keep their order.
+	 */
+	private List<String> parameterKeys;
+	/**
+	 * The directory relative paths are resolved against, or null for the working directory of the process.
+	 */
+	private Path workingDirectory;
 
 	/**
 	 * Creates a new invocation with no command name and an empty set of parameters and flags.
@@ -106,16 +123,109 @@ public class Invocation {
 	}
 
 	/**
-	 * Sets the value of the parameter with the given name.
+	 * Gets every value passed to the parameter with the given name, in the order they were passed.
+	 * @param key The name of the parameter to get.
+	 * @return The values of the parameter, or an empty list if it was not passed.
+	 * @since 2.1.0
+	 */
+	public List<String> getParameters(String key) {
+		var normalized = normalize(key);
+		if (repeatedParams != null) {
+			var values = repeatedParams.get(normalized);
+			if (values != null) {
+				return values;
+			}
+		}
+		var value = params.get(normalized);
+		return value == null ? List.of() : List.of(value);
+	}
+
+	/**
+	 * Gets every value passed to a parameter by either of its names, such as its name and its short name, in the order
+	 * they were passed.
+	 * @param key   The name of the parameter to get.
+	 * @param alias The other name of the parameter.
+	 * @return The values of the parameter, or an empty list if it was not passed.
+	 * @since 2.1.0
+	 */
+	public List<String> getParameters(String key, String alias) {
+		var values = getParameters(key);
+		var aliasValues = getParameters(alias);
+		if (aliasValues.isEmpty()) {
+			return values;
+		}
+		if (values.isEmpty()) {
+			return aliasValues;
+		}
+
+		List<String> all = new ArrayList<>(values.size() + aliasValues.size());
+		if (parameterKeys == null) {
+			// Set without putParameter, so the order is unknown
+			all.addAll(values);
+			all.addAll(aliasValues);
+			return all;
+		}
+		var normalizedKey = normalize(key);
+		var normalizedAlias = normalize(alias);
+		int next = 0, nextAlias = 0;
+		for (var parameterKey : parameterKeys) {
+			if (parameterKey.equals(normalizedKey)) {
+				all.add(values.get(next++));
+			} else if (parameterKey.equals(normalizedAlias)) {
+				all.add(aliasValues.get(nextAlias++));
+			}
+		}
+		return all;
+	}
+
+	/**
+	 * Sets the value of the parameter with the given name. If the parameter already has a value, the new value is
+	 * added to those returned by {@link #getParameters(String)}, and replaces it in {@link #getParams()}.
 	 * @param key The name of the parameter to set.
 	 * @param value The value of the parameter.
 	 */
 	public void putParameter(String key, String value) {
-		params.put(key, value);
+		if (parameterKeys == null) {
+			parameterKeys = new ArrayList<>();
+		}
+		parameterKeys.add(key);
+		var previous = params.put(key, value);
+		if (previous == null) {
+			return;
+		}
+
+		if (repeatedParams == null) {
+			repeatedParams = new HashMap<>();
+		}
+		var values = repeatedParams.get(key);
+		if (values == null) {
+			values = new ArrayList<>();
+			values.add(previous);
+			repeatedParams.put(key, values);
+		}
+		values.add(value);
+	}
+
+	/**
+	 * Gets the directory relative paths are resolved against, such as the working directory of the client of a daemon.
+	 * @return The directory, or null for the working directory of the process.
+	 * @since 2.1.0
+	 */
+	public Path getWorkingDirectory() {
+		return workingDirectory;
+	}
+
+	/**
+	 * Sets the directory relative paths are resolved against.
+	 * @param workingDirectory The directory, or null for the working directory of the process.
+	 * @since 2.1.0
+	 */
+	public void setWorkingDirectory(Path workingDirectory) {
+		this.workingDirectory = workingDirectory;
 	}
 
 	/**
-	 * Gets the parameters of the command.
+	 * Gets the parameters of the command, with the last value of those passed more than once.
 	 * @return The parameters of the command.
 	 */
 	public Map<String, String> getParams() {
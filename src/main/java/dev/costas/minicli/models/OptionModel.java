@@ -0,0 +1,93 @@
+package dev.costas.minicli.models;
+
+import dev.costas.minicli.annotation.Flag;
+import dev.costas.minicli.annotation.Parameter;
+
+import java.lang.reflect.Field;
+
+/**
+ * Metadata of a flag or a parameter of a command, read once from its {@link Flag} or {@link Parameter} annotation.
+ *
+ * @param field               The annotated field.
+ * @param name                The name of the option.
+ * @param shortname           The short name of the option, or an empty string if it has none.
+ * @param description         The description of the option.
+ * @param normalizedName      The name of the option, {@link Invocation#normalize(String) normalized}.
+ * @param normalizedShortname The short name of the option, {@link Invocation#normalize(String) normalized}.
+ * @param type                The type of the field.
+ * @param defaultValue        The value used when the option is not passed: a {@link Boolean} for flags, and a
+ *                            {@link String} or null for parameters.
+ * @param separator           The separator between the values of a multi-valued parameter, or an empty string if
+ *                            they are not split, as for flags.
+ * @since 2.1.0
+ */
+public record OptionModel(
+	Field field,
+	String name,
+	String shortname,
+	String description,
+	String normalizedName,
+	String normalizedShortname,
+	Class<?> type,
+	Object defaultValue,
+	String separator
+) {
+	static OptionModel of(Field field, Flag flag) {
+		if (flag.name().equals("")) {
+			throw new RuntimeException("Flag name cannot be empty.");
+		}
+
+		if (flag.name().equals("help")) {
+			throw new RuntimeException("Flag name cannot be 'help'.");
+		}
+
+		// Must be a boolean, otherwise it's not a flag
+		if (field.getType() != boolean.class && field.getType() != Boolean.class) {
+			throw new RuntimeException("Flag " + field.getName() + " must be a boolean.");
+		}
+
+		return new OptionModel(
+			field,
+			flag.name(),
+			flag.shortname(),
+			flag.description(),
+			Invocation.normalize(flag.name()),
+			Invocation.normalize(flag.shortname()),
+			field.getType(),
+			flag.defaultValue(),
+			""
+		);
+	}
+
+	static OptionModel of(Field field, Parameter parameter) {
+		if (parameter.name().equals("")) {
+			throw new RuntimeException("Parameter name cannot be empty.");
+		}
+
+		if (parameter.name().equals("help") || parameter.name().equals("h") || parameter.shortname().equals("h")) {
+			throw new RuntimeException("Parameter name cannot be 'help'.");
+		}
+
+		return new OptionModel(
+			field,
+			parameter.name(),
+			parameter.shortname(),
+			parameter.description(),
+			Invocation.normalize(parameter.name()),
+			Invocation.normalize(parameter.shortname()),
+			field.getType(),
+			// An empty default value means there is no default value
+			parameter.defaultValue().equals("") ? null : parameter.defaultValue(),
+			parameter.separator()
+		);
+	}
+
+	/**
+	 * Whether the option has a short name.
+	 *
+	 * @return True if the option has a short name.
+	 */
+	public boolean hasShortname() {
+		return !normalizedShortname.isEmpty();
+	}
+}
@@ -0,0 +1,32 @@
+package dev.costas.minicli.models;
+
+/**
+ * How the instances of a command are created and reused between invocations.
+ * <p>
+ * The flags and parameters of an instance are set again on every invocation, including those that were not passed,
+ * which get their default value. So reused instances only keep the state the command stores in other fields.
+ *
+ * @since 2.1.0
+ */
+public enum Scope {
+	/**
+	 * Use the default scope of the application, set with
+	 * {@link dev.costas.minicli.MinicliApplicationBuilder#withDefaultScope(Scope)}.
+	 */
+	DEFAULT,
+	/**
+	 * Create a new instance for every invocation.
+	 */
+	PROTOTYPE,
+	/**
+	 * Reuse a single instance for every invocation. The instance is shared, so the command must not be run by several
+	 * threads at once, such as in a parallel batch.
+	 */
+	SINGLETON,
+	/**
+	 * Reuse instances that are not running, creating a new one when all of them are running, so an instance is only
+	 * used by one thread at a time. Only its flags and parameters are set again, so a command storing state in other
+	 * fields must reset it when it runs. An instance whose command timed out or was cancelled is never reused.
+	 */
+	POOLED
+}
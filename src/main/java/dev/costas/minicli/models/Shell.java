@@ -0,0 +1,21 @@
+package dev.costas.minicli.models;
+
+/**
+ * A shell that completion scripts can be generated for.
+ *
+ * @since 2.1.0
+ */
+public enum Shell {
+	/**
+	 * GNU Bash.
+	 */
+	BASH,
+	/**
+	 * Z shell.
+	 */
+	ZSH,
+	/**
+	 * The friendly interactive shell.
+	 */
+	FISH
+}
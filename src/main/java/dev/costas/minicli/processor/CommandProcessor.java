@@ -0,0 +1,315 @@
+package dev.costas.minicli.processor;
+
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.annotation.Flag;
+import dev.costas.minicli.annotation.Parameter;
+import dev.costas.minicli.defaults.DefaultInstantiator;
+import dev.costas.minicli.framework.CommandIndex;
+import dev.costas.minicli.framework.Instantiator;
+import dev.costas.minicli.models.CommandDescriptor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor that validates the {@link Command}, {@link Flag} and {@link Parameter} annotations and
+ * generates a {@code CommandRegistry} class implementing {@link CommandIndex}, along with the
+ * {@value CommandIndex#RESOURCE} index, so commands don't need to be discovered by scanning the classpath at runtime.
+ * The registry also instantiates the commands without reflection, and the reflection configuration needed by GraalVM
+ * native-image for the rest of the framework is written to {@code META-INF/native-image}.
+ * <p>
+ * The registry is generated in the longest package shared by all the commands, unless the
+ * {@value #PACKAGE_OPTION} option is passed to the compiler.
+ *
+ * @since 2.1.0
+ */
+@SupportedAnnotationTypes({
+	"dev.costas.minicli.annotation.Command",
+	"dev.costas.minicli.annotation.Flag",
+	"dev.costas.minicli.annotation.Parameter"
+})
+@SupportedOptions(CommandProcessor.PACKAGE_OPTION)
+public final class CommandProcessor extends AbstractProcessor {
+	/**
+	 * Compiler option to set the package of the generated registry, e.g. {@code -Aminicli.registry.package=com.example}.
+	 */
+	public static final String PACKAGE_OPTION = "minicli.registry.package";
+	private static final String REGISTRY_NAME = "CommandRegistry";
+	private static final String FALLBACK_PACKAGE = "minicli.generated";
+	private static final String NATIVE_IMAGE_DIRECTORY = "META-INF/native-image/minicli/";
+
+	private final Map<String, TypeElement> commands = new LinkedHashMap<>();
+	private boolean written = false;
+
+	/**
+	 * Creates a new instance of the processor. It is instantiated by the compiler.
+	 */
+	public CommandProcessor() {
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			return false;
+		}
+
+		for (Element element : roundEnv.getElementsAnnotatedWith(Command.class)) {
+			if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+				error(element, "@Command can only be used on concrete classes.");
+				continue;
+			}
+			var type = (TypeElement) element;
+			var command = type.getAnnotation(Command.class);
+			// The index separates the names with tabs
+			if (command.name().isEmpty() || (command.name() + command.shortname()).chars().anyMatch(Character::isWhitespace)) {
+				error(element, "Command names cannot be empty or contain whitespace.");
+				continue;
+			}
+			if (written) {
+				// The registry is written in the first round, so it is compiled along with the commands
+				error(element, "Command " + type.getQualifiedName() + " was generated after the command index.");
+				continue;
+			}
+			commands.put(binaryName(type), type);
+		}
+
+		for (Element element : roundEnv.getElementsAnnotatedWith(Flag.class)) {
+			var flag = element.getAnnotation(Flag.class);
+			var type = element.asType();
+			if (type.getKind() != TypeKind.BOOLEAN && !type.toString().equals("java.lang.Boolean")) {
+				error(element, "Flag " + element.getSimpleName() + " must be a boolean.");
+			}
+			if (flag.name().equals("")) {
+				error(element, "Flag name cannot be empty.");
+			}
+			if (flag.name().equals("help")) {
+				error(element, "Flag name cannot be 'help'.");
+			}
+		}
+
+		for (Element element : roundEnv.getElementsAnnotatedWith(Parameter.class)) {
+			var parameter = element.getAnnotation(Parameter.class);
+			if (parameter.name().equals("")) {
+				error(element, "Parameter name cannot be empty.");
+			}
+			if (parameter.name().equals("help") || parameter.name().equals("h") || parameter.shortname().equals("h")) {
+				error(element, "Parameter name cannot be 'help'.");
+			}
+		}
+
+		if (!written && !commands.isEmpty()) {
+			writeIndex();
+			written = true;
+		}
+
+		return false;
+	}
+
+	private void writeIndex() {
+		var types = new ArrayList<>(commands.values());
+		types.sort(Comparator.comparing(this::binaryName));
+		var origins = types.toArray(new Element[0]);
+
+		var packageName = processingEnv.getOptions().getOrDefault(PACKAGE_OPTION, commonPackage(types));
+		writeRegistry(packageName, types, origins);
+		writeCommandIndex(types, origins);
+		writeNativeImageConfig(packageName, types, origins);
+	}
+
+	private void writeRegistry(String packageName, List<TypeElement> types, Element[] origins) {
+		var registryName = packageName.isEmpty() ? REGISTRY_NAME : packageName + "." + REGISTRY_NAME;
+
+		try (Writer writer = processingEnv.getFiler().createSourceFile(registryName, origins).openWriter()) {
+			if (!packageName.isEmpty()) {
+				writer.write("package " + packageName + ";\n\n");
+			}
+			writer.write("import " + CommandDescriptor.class.getName() + ";\n");
+			writer.write("import java.util.List;\n\n");
+			writer.write("/**\n * Index of the commands of this application, generated by minicli.\n * <p>\n");
+			writer.write(" * It also instantiates the commands without reflection, when set as the instantiator of the application.\n */\n");
+			writer.write("@javax.annotation.processing.Generated(\"" + CommandProcessor.class.getName() + "\")\n");
+			writer.write("public final class " + REGISTRY_NAME + " implements " + CommandIndex.class.getName()
+				+ ", " + Instantiator.class.getName() + " {\n");
+			writer.write("\tprivate static final List<CommandDescriptor> DESCRIPTORS = List.of(");
+			for (var i = 0; i < types.size(); i++) {
+				var command = types.get(i).getAnnotation(Command.class);
+				writer.write(i == 0 ? "\n" : ",\n");
+				writer.write("\t\tnew CommandDescriptor(" + literal(binaryName(types.get(i))) + ", "
+					+ literal(command.name()) + ", " + literal(command.shortname()) + ")");
+			}
+			writer.write("\n\t);\n");
+			writer.write("\tprivate static final " + Instantiator.class.getName() + " FALLBACK = new "
+				+ DefaultInstantiator.class.getName() + "();\n\n");
+			writer.write("\t@Override\n");
+			writer.write("\tpublic List<CommandDescriptor> getDescriptors() {\n");
+			writer.write("\t\treturn DESCRIPTORS;\n");
+			writer.write("\t}\n\n");
+			// The classes are only referenced here, so they are not loaded until all of them are requested
+			writer.write("\t@Override\n");
+			writer.write("\tpublic List<Class<?>> getCommands() {\n");
+			writer.write("\t\treturn List.of(");
+			for (var i = 0; i < types.size(); i++) {
+				writer.write(i == 0 ? "\n" : ",\n");
+				writer.write("\t\t\t" + types.get(i).getQualifiedName() + ".class");
+			}
+			writer.write("\n\t\t);\n");
+			writer.write("\t}\n\n");
+			writer.write("\t@Override\n");
+			writer.write("\tpublic <T> T getInstance(Class<T> classToInstantiate) {\n");
+			writer.write("\t\treturn classToInstantiate.cast(switch (classToInstantiate.getName()) {\n");
+			for (var type : types) {
+				if (isPubliclyConstructible(type)) {
+					writer.write("\t\t\tcase " + literal(binaryName(type)) + " -> new " + type.getQualifiedName() + "();\n");
+				}
+			}
+			writer.write("\t\t\tdefault -> FALLBACK.getInstance(classToInstantiate);\n");
+			writer.write("\t\t});\n");
+			writer.write("\t}\n");
+			writer.write("}\n");
+		} catch (IOException e) {
+			error(null, "Cannot write " + registryName + ": " + e.getMessage());
+		}
+	}
+
+	private void writeCommandIndex(List<TypeElement> types, Element[] origins) {
+		try (Writer writer = processingEnv.getFiler()
+			.createResource(StandardLocation.CLASS_OUTPUT, "", CommandIndex.RESOURCE, origins)
+			.openWriter()) {
+			for (var type : types) {
+				var command = type.getAnnotation(Command.class);
+				writer.write(binaryName(type) + "\t" + command.name() + "\t" + command.shortname() + "\n");
+			}
+		} catch (IOException e) {
+			error(null, "Cannot write " + CommandIndex.RESOURCE + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the reflection and resource configuration needed by GraalVM native-image, which finds it in
+	 * {@code META-INF/native-image}. It registers the constructors of the commands and the fields read by the framework,
+	 * along with the command index.
+	 */
+	private void writeNativeImageConfig(String packageName, List<TypeElement> types, Element[] origins) {
+		var directory = NATIVE_IMAGE_DIRECTORY + (packageName.isEmpty() ? FALLBACK_PACKAGE : packageName) + "/";
+
+		try (Writer writer = processingEnv.getFiler()
+			.createResource(StandardLocation.CLASS_OUTPUT, "", directory + "reflect-config.json", origins)
+			.openWriter()) {
+			writer.write("[");
+			for (var i = 0; i < types.size(); i++) {
+				var type = types.get(i);
+				writer.write(i == 0 ? "\n" : ",\n");
+				writer.write("  {\n");
+				writer.write("    \"name\": " + literal(binaryName(type)) + ",\n");
+				writer.write("    \"allDeclaredFields\": true,\n");
+				writer.write("    \"methods\": [{ \"name\": \"<init>\", \"parameterTypes\": [] }],\n");
+				writer.write("    \"fields\": [");
+				var first = true;
+				for (var field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+					if (field.getAnnotation(Flag.class) == null && field.getAnnotation(Parameter.class) == null) {
+						continue;
+					}
+					writer.write(first ? "\n" : ",\n");
+					writer.write("      { \"name\": " + literal(field.getSimpleName().toString()) + ", \"allowWrite\": true }");
+					first = false;
+				}
+				writer.write(first ? "]\n" : "\n    ]\n");
+				writer.write("  }");
+			}
+			writer.write("\n]\n");
+		} catch (IOException e) {
+			error(null, "Cannot write " + directory + "reflect-config.json: " + e.getMessage());
+		}
+
+		try (Writer writer = processingEnv.getFiler()
+			.createResource(StandardLocation.CLASS_OUTPUT, "", directory + "resource-config.json", origins)
+			.openWriter()) {
+			writer.write("{\n");
+			writer.write("  \"resources\": {\n");
+			writer.write("    \"includes\": [{ \"pattern\": " + literal("\\Q" + CommandIndex.RESOURCE + "\\E") + " }]\n");
+			writer.write("  }\n");
+			writer.write("}\n");
+		} catch (IOException e) {
+			error(null, "Cannot write " + directory + "resource-config.json: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Whether the given command can be instantiated with {@code new} from any package.
+	 */
+	private static boolean isPubliclyConstructible(TypeElement type) {
+		for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+			var modifiers = element.getModifiers();
+			if (!modifiers.contains(Modifier.PUBLIC)
+				|| (element.getEnclosingElement() instanceof TypeElement && !modifiers.contains(Modifier.STATIC))) {
+				return false;
+			}
+		}
+		return ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+			.anyMatch(c -> c.getParameters().isEmpty() && c.getModifiers().contains(Modifier.PUBLIC));
+	}
+
+	private String commonPackage(List<TypeElement> types) {
+		String common = null;
+		for (var type : types) {
+			var packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+			if (common == null) {
+				common = packageName;
+				continue;
+			}
+			while (!common.isEmpty() && !packageName.equals(common) && !packageName.startsWith(common + ".")) {
+				var lastDot = common.lastIndexOf('.');
+				common = lastDot == -1 ? "" : common.substring(0, lastDot);
+			}
+		}
+		return common == null || common.isEmpty() ? FALLBACK_PACKAGE : common;
+	}
+
+	private static String literal(String value) {
+		var literal = new StringBuilder("\"");
+		for (var i = 0; i < value.length(); i++) {
+			var c = value.charAt(i);
+			switch (c) {
+				case '"' -> literal.append("\\\"");
+				case '\\' -> literal.append("\\\\");
+				case '\n' -> literal.append("\\n");
+				case '\r' -> literal.append("\\r");
+				case '\t' -> literal.append("\\t");
+				default -> literal.append(c);
+			}
+		}
+		return literal.append('"').toString();
+	}
+
+	private String binaryName(TypeElement type) {
+		return processingEnv.getElementUtils().getBinaryName(type).toString();
+	}
+
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * Compile-time support for the framework, such as the annotation processor generating the command index.
+ *
+ * @since 2.1.0
+ */
+package dev.costas.minicli.processor;
@@ -0,0 +1,43 @@
+package dev.costas.minicli;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class BkTreeTest {
+	@Test
+	@DisplayName("Test the Levenshtein distance")
+	void distance() {
+		Assertions.assertEquals(0, BkTree.distance("greet", "greet"));
+		Assertions.assertEquals(1, BkTree.distance("gret", "greet"));
+		Assertions.assertEquals(2, BkTree.distance("grete", "greet"));
+		Assertions.assertEquals(3, BkTree.distance("kitten", "sitting"));
+		Assertions.assertEquals(5, BkTree.distance("", "greet"));
+	}
+
+	@Test
+	@DisplayName("Test that the closest word matches a search over every word")
+	void closest() {
+		List<String> words = new ArrayList<>();
+		for (var i = 0; i < 2000; i++) {
+			words.add("command" + Integer.toString(i * 7919, 36));
+		}
+		var tree = BkTree.of(words);
+
+		for (var query : List.of("comand1", "commandzz", "cmmand5g", "unrelated")) {
+			String expected = null;
+			var expectedDistance = 3;
+			for (var word : words.stream().sorted().toList()) {
+				var distance = BkTree.distance(query, word);
+				if (distance < expectedDistance) {
+					expected = word;
+					expectedDistance = distance;
+				}
+			}
+			Assertions.assertEquals(expected, tree.closest(query, 2), query);
+		}
+	}
+}
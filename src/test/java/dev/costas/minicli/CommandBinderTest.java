@@ -0,0 +1,56 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.exceptions.IllegalValueFormatException;
+import dev.costas.minicli.models.ApplicationParams;
+import dev.costas.minicli.types.PurgeCommand;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CommandBinderTest {
+	private static final ApplicationParams PARAMS = new ApplicationParams(
+		"Greetinator", "greetinator", "Greets people", "1.2.3", "Doofenshmirtz Evil Inc.", "hello@example.com", "https://example.com"
+	);
+
+	private final MinicliApplication application = MinicliApplication.builder()
+		.withApplicationParams(PARAMS)
+		.build();
+
+	@Test
+	@DisplayName("Test that multi-valued parameters take repeated and separated values")
+	void multiValuedParameters() throws Exception {
+		Assertions.assertEquals(
+			"[1, 2, 3, 4] | 6000000000 | [2.0] | [a, b c] | [x, y, z]",
+			application.run(PurgeCommand.class, new String[]{
+				"purge", "--id", "1", "--id", "2, 3", "-i", "4", "--account", "1000000000,5000000000", "--weight", "2",
+				"--tag", "a,b c", "--note", "x", "--note", "y", "--note", "z"
+			}).output()
+		);
+		Assertions.assertEquals(
+			"null | null | [0.5, 1.5] | null | null",
+			application.run(PurgeCommand.class, new String[]{ "purge" }).output()
+		);
+		Assertions.assertEquals(
+			"[4, 1, 2] | null | [0.5, 1.5] | [a, b, c] | null",
+			application.run(PurgeCommand.class, new String[]{ "purge", "-i", "4", "--id", "1", "-i", "2", "-t", "a", "--tag", "b", "-t", "c" }).output()
+		);
+
+		var ids = new StringBuilder("1");
+		for (var i = 2; i <= 100_000; i++) {
+			ids.append(',').append(i);
+		}
+		Assertions.assertTrue(
+			application.run(PurgeCommand.class, new String[]{ "purge", "--id", ids.toString() }).output().startsWith("[1, 2, 3,")
+		);
+
+		var exception = Assertions.assertThrows(
+			IllegalValueFormatException.class,
+			() -> application.run(PurgeCommand.class, new String[]{ "purge", "--id", "1,x2,3" })
+		);
+		Assertions.assertEquals("Invalid value 'x2' for parameter ids.", exception.getMessage());
+		Assertions.assertThrows(
+			IllegalValueFormatException.class,
+			() -> application.run(PurgeCommand.class, new String[]{ "purge", "--id", "1,,3" })
+		);
+	}
+}
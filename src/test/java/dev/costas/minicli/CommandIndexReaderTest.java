@@ -0,0 +1,81 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.commands.GreetCommand;
+import dev.costas.minicli.framework.CommandIndex;
+import dev.costas.minicli.models.ApplicationParams;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+class CommandIndexReaderTest {
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("Test that only the commands in the package or its subpackages are read")
+	void packageMatch() throws Exception {
+		var loader = indexLoader(
+			"dev.costas.minicli.commands.GreetCommand\tgreet\tg\n" +
+			"dev.costas.minicli.commands.sub.NestedCommand\tnested\t\n" +
+			"dev.costas.minicli.commandsx.OtherCommand\tother\t\n"
+		);
+
+		var descriptors = CommandIndexReader.read("dev.costas.minicli.commands", loader);
+
+		Assertions.assertNotNull(descriptors);
+		Assertions.assertEquals(2, descriptors.size());
+		Assertions.assertEquals("greet", descriptors.get(0).name());
+		Assertions.assertEquals("nested", descriptors.get(1).name());
+	}
+
+	@Test
+	@DisplayName("Test that an index without commands in the package is ignored")
+	void foreignIndex() throws Exception {
+		var loader = indexLoader("com.example.library.LibraryCommand\tlibrary\t\n");
+
+		Assertions.assertNull(CommandIndexReader.read("dev.costas.minicli.commands", loader));
+	}
+
+	@Test
+	@DisplayName("Test that the classpath is scanned when the only index belongs to another package")
+	void scanWithForeignIndex() throws Exception {
+		var loader = indexLoader("com.example.library.LibraryCommand\tlibrary\t\n");
+		var application = MinicliApplication.builder()
+			.withApplicationParams(new ApplicationParams("Greetinator", "greetinator", "Greets people", "1.2.3", "", "", ""))
+			.build();
+
+		var thread = Thread.currentThread();
+		var previous = thread.getContextClassLoader();
+		thread.setContextClassLoader(loader);
+		try {
+			var output = application.run(GreetCommand.class, new String[]{ "greet", "-n", "Perry" });
+			Assertions.assertEquals("Hey, Perry. You're 18 years young.", output.output());
+		} finally {
+			thread.setContextClassLoader(previous);
+		}
+	}
+
+	/**
+	 * Creates a class loader whose only command index is the given one.
+	 */
+	private ClassLoader indexLoader(String index) throws IOException {
+		var file = Files.writeString(directory.resolve("commands"), index);
+		var url = file.toUri().toURL();
+
+		return new ClassLoader(getClass().getClassLoader()) {
+			@Override
+			public Enumeration<URL> getResources(String name) throws IOException {
+				return CommandIndex.RESOURCE.equals(name) ? Collections.enumeration(List.of(url)) : super.getResources(name);
+			}
+		};
+	}
+}
@@ -0,0 +1,74 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.commands.CountCommand;
+import dev.costas.minicli.commands.GreetCommand;
+import dev.costas.minicli.defaults.ConcurrentCommandExecutor;
+import dev.costas.minicli.models.ApplicationParams;
+import dev.costas.minicli.models.Scope;
+import dev.costas.minicli.pooled.StubbornCommand;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+class CommandInstancesTest {
+	private static final ApplicationParams PARAMS = new ApplicationParams(
+		"Greetinator", "greetinator", "Greets people", "1.2.3", "Doofenshmirtz Evil Inc.", "hello@example.com", "https://example.com"
+	);
+
+	private final MinicliApplication application = MinicliApplication.builder()
+		.withApplicationParams(PARAMS)
+		.build();
+
+	@Test
+	@DisplayName("Test that scoped commands reuse their instances and reset their options")
+	void scopes() throws Exception {
+		var created = CountCommand.INSTANCES.get();
+		for (var i = 1; i <= 3; i++) {
+			Assertions.assertEquals(String.valueOf(i), application.run(GreetCommand.class, new String[]{ "count" }).output());
+		}
+		Assertions.assertEquals(created + 1, CountCommand.INSTANCES.get());
+
+		var singletons = MinicliApplication.builder()
+			.withApplicationParams(PARAMS)
+			.withDefaultScope(Scope.SINGLETON)
+			.build();
+		var output = singletons.run(GreetCommand.class, new String[]{ "greet", "-n", "Ariel", "--formal", "--age", "19" });
+		Assertions.assertEquals("Good day, Ariel. You're 19 years young.", output.output());
+		output = singletons.run(GreetCommand.class, new String[]{ "greet", "-n", "Perry" });
+		Assertions.assertEquals("Hey, Perry. You're 18 years young.", output.output());
+	}
+
+	@Test
+	@DisplayName("Test that pooled instances still running after a timeout are not reused")
+	void poolAfterTimeout() throws Exception {
+		var executor = Executors.newCachedThreadPool();
+		try {
+			var timed = MinicliApplication.builder()
+				.withApplicationParams(PARAMS)
+				.withCommandExecutor(new ConcurrentCommandExecutor(executor, Duration.ofMillis(100)))
+				.build();
+
+			var created = StubbornCommand.INSTANCES.get();
+			var output = timed.run(StubbornCommand.class, new String[]{ "stubborn", "--millis", "1000" });
+			Assertions.assertEquals("Command timed out after 100 ms.", output.output());
+
+			output = timed.run(StubbornCommand.class, new String[]{ "stubborn" });
+			Assertions.assertEquals("Waited 0 ms", output.output());
+			Assertions.assertEquals(created + 2, StubbornCommand.INSTANCES.get());
+
+			// The instance that finished in time goes back to the pool
+			Assertions.assertTrue(timed.run(StubbornCommand.class, new String[]{ "stubborn" }, new StringWriter()));
+			Assertions.assertEquals(created + 2, StubbornCommand.INSTANCES.get());
+
+			Assertions.assertFalse(timed.run(StubbornCommand.class, new String[]{ "stubborn", "--millis", "1000" }, new StringWriter()));
+			Assertions.assertTrue(timed.run(StubbornCommand.class, new String[]{ "stubborn" }, new StringWriter()));
+			Assertions.assertEquals(created + 3, StubbornCommand.INSTANCES.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
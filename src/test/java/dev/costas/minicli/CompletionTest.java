@@ -0,0 +1,37 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.commands.GreetCommand;
+import dev.costas.minicli.models.ApplicationParams;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CompletionTest {
+	private static final ApplicationParams PARAMS = new ApplicationParams(
+		"Greetinator", "greetinator", "Greets people", "1.2.3", "Doofenshmirtz Evil Inc.", "hello@example.com", "https://example.com"
+	);
+
+	private final MinicliApplication application = MinicliApplication.builder()
+		.withApplicationParams(PARAMS)
+		.build();
+
+	@Test
+	@DisplayName("Test that command names and options are completed")
+	void completion() throws Exception {
+		Assertions.assertEquals("greet", application.run(GreetCommand.class, new String[]{ "__complete", "g" }).output());
+		Assertions.assertEquals(
+			"connect\ncount\nexport\nfetch\ngreet\nsum\nwait\nhelp\nversion",
+			application.run(GreetCommand.class, new String[]{ "__complete", "" }).output()
+		);
+		Assertions.assertEquals("sum", application.run(GreetCommand.class, new String[]{ "__complete", "help", "s" }).output());
+		Assertions.assertEquals(
+			"--formal", application.run(GreetCommand.class, new String[]{ "__complete", "greet", "--f" }).output()
+		);
+		Assertions.assertEquals(
+			"", application.run(GreetCommand.class, new String[]{ "__complete", "greet", "--name", "" }).output()
+		);
+
+		var script = application.run(GreetCommand.class, new String[]{ "__completion", "bash" }).output();
+		Assertions.assertTrue(script.contains("complete -o default -F _minicli_greetinator greetinator"), script);
+	}
+}
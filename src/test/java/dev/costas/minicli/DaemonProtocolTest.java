@@ -0,0 +1,43 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.models.ClientRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+class DaemonProtocolTest {
+	@Test
+	@DisplayName("Test that a request is read as it was written")
+	void roundTrip() throws Exception {
+		var request = new ClientRequest(List.of("greet", "-n", "Perry"), Map.of("GREETING", "Howdy"), Path.of("/srv/tristate"));
+		var bytes = new ByteArrayOutputStream();
+		DaemonProtocol.writeRequest(new DataOutputStream(bytes), request);
+
+		var read = DaemonProtocol.readRequest(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+		Assertions.assertEquals(request, read);
+	}
+
+	@Test
+	@DisplayName("Test that requests with too many arguments are rejected before reading them")
+	void tooManyArguments() throws Exception {
+		var bytes = new ByteArrayOutputStream();
+		var out = new DataOutputStream(bytes);
+		out.writeInt(0x4d434c31);
+		DaemonProtocol.writeString(out, "/");
+		out.writeInt(0);
+		out.writeInt(16 * 1024 * 1024);
+
+		var in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		var exception = Assertions.assertThrows(IOException.class, () -> DaemonProtocol.readRequest(in));
+		Assertions.assertEquals("Malformed message: 16777216 elements", exception.getMessage());
+	}
+}
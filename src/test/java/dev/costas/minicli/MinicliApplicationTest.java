@@ -0,0 +1,305 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.collision.FirstDuplicateCommand;
+import dev.costas.minicli.commands.GreetCommand;
+import dev.costas.minicli.exceptions.IllegalValueFormatException;
+import dev.costas.minicli.exceptions.QuitException;
+import dev.costas.minicli.models.ApplicationParams;
+import dev.costas.minicli.models.CommandOutput;
+import dev.costas.minicli.models.ErrorPolicy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+class MinicliApplicationTest {
+	private static final ApplicationParams PARAMS = new ApplicationParams(
+		"Greetinator", "greetinator", "Greets people", "1.2.3", "Doofenshmirtz Evil Inc.", "hello@example.com", "https://example.com"
+	);
+
+	private final MinicliApplication application = MinicliApplication.builder()
+		.withApplicationParams(PARAMS)
+		.build();
+
+	@Test
+	@DisplayName("Test that a command is run with its parameters and flags")
+	void runCommand() throws Exception {
+		var output = application.run(GreetCommand.class, new String[]{ "greet", "-n", "Ariel", "--formal", "--age", "19" });
+		Assertions.assertTrue(output.success());
+		Assertions.assertEquals("Good day, Ariel. You're 19 years young.", output.output());
+	}
+
+	@Test
+	@DisplayName("Test that a command is found by its short name and uses the default values")
+	void runCommandWithDefaults() throws Exception {
+		var output = application.run(GreetCommand.class, new String[]{ "g", "--name", "Perry" });
+		Assertions.assertEquals("Hey, Perry. You're 18 years young.", output.output());
+
+		output = application.run(GreetCommand.class, new String[]{ "sum", "--a", "2", "--b", "0.5" });
+		Assertions.assertEquals("2.5", output.output());
+
+		output = application.run(GreetCommand.class, new String[]{ "sum", "--a", "2", "--c", "3", "-n" });
+		Assertions.assertEquals("-5.0", output.output());
+	}
+
+	@Test
+	@DisplayName("Test that the help lists every command and its options")
+	void help() throws Exception {
+		var output = application.run(GreetCommand.class, new String[]{ "help" });
+		Assertions.assertTrue(output.output().contains("g, greet - Prints a greeting"));
+		Assertions.assertTrue(output.output().contains("-f, --formal"));
+		Assertions.assertTrue(output.output().contains("sum - Adds two numbers"));
+
+		output = application.run(GreetCommand.class, new String[]{ "greet", "--help" });
+		Assertions.assertTrue(output.output().contains("-n, --name"));
+		Assertions.assertFalse(output.output().contains("sum"));
+	}
+
+	@Test
+	@DisplayName("Test the built-in commands")
+	void builtInCommands() {
+		Assertions.assertThrows(QuitException.class, () -> application.run(GreetCommand.class, new String[]{ "quit" }));
+		Assertions.assertThrows(RuntimeException.class, () -> application.run(GreetCommand.class, new String[]{ "unknown" }));
+	}
+
+	@Test
+	@DisplayName("Test that commands sharing a name are rejected before dispatching")
+	void duplicateCommands() {
+		var exception = Assertions.assertThrows(
+			RuntimeException.class,
+			() -> application.run(FirstDuplicateCommand.class, new String[]{ "duplicate" })
+		);
+		Assertions.assertTrue(exception.getMessage().contains("'d'"), exception.getMessage());
+	}
+
+	@Test
+	@DisplayName("Test that the REPL runs every line until the user quits")
+	void repl() throws Exception {
+		var in = new ByteArrayInputStream("greet -n 'Perry the Platypus'\n\nsum --a x\nquit\ngreet\n".getBytes(StandardCharsets.UTF_8));
+		var out = new ByteArrayOutputStream();
+
+		application.repl(GreetCommand.class, in, out);
+
+		var nl = System.lineSeparator();
+		Assertions.assertEquals(
+			"> Hey, Perry the Platypus. You're 18 years young." + nl + "> > Invalid value 'x' for parameter a." + nl + "> ",
+			out.toString(StandardCharsets.UTF_8)
+		);
+	}
+
+	@Test
+	@DisplayName("Test that a batch runs every line and collects the failures")
+	void batch() throws Exception {
+		var script = "# Greetings\ngreet -n Perry\nunknown\n\nsum --a 1 --b 2\nsum --a x\n";
+		List<CommandOutput> outputs = new ArrayList<>();
+
+		var result = application.runBatch(
+			GreetCommand.class, new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)), outputs::add, ErrorPolicy.COLLECT
+		);
+
+		Assertions.assertEquals(4, result.executed());
+		Assertions.assertEquals(2, result.failed());
+		Assertions.assertEquals(4, outputs.size());
+		Assertions.assertEquals(3, result.failures().get(0).lineNumber());
+		Assertions.assertEquals("sum --a x", result.failures().get(1).line());
+
+		result = application.runBatch(
+			GreetCommand.class, new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)), o -> { }, ErrorPolicy.STOP_ON_FAILURE
+		);
+		Assertions.assertEquals(2, result.executed());
+		Assertions.assertEquals(1, result.failures().size());
+	}
+
+	@Test
+	@DisplayName("Test that commands run asynchronously and are cancelled when they time out")
+	void runAsync() throws Exception {
+		var output = application.runAsync(GreetCommand.class, new String[]{ "fetch", "--resource", "plans" }).get();
+		Assertions.assertEquals("Fetched plans", output.output());
+
+		output = application.runAsync(GreetCommand.class, new String[]{ "greet", "-n", "Perry" }).get();
+		Assertions.assertEquals("Hey, Perry. You're 18 years young.", output.output());
+
+		var failure = Assertions.assertThrows(
+			ExecutionException.class,
+			() -> application.runAsync(GreetCommand.class, new String[]{ "sum", "--a", "x" }).get()
+		);
+		Assertions.assertInstanceOf(IllegalValueFormatException.class, failure.getCause());
+
+		failure = Assertions.assertThrows(
+			ExecutionException.class,
+			() -> application.runAsync(GreetCommand.class, new String[]{ "wait", "--millis", "5000" }, Duration.ofMillis(100)).get()
+		);
+		Assertions.assertInstanceOf(TimeoutException.class, failure.getCause());
+	}
+
+	@Test
+	@DisplayName("Test that streaming commands write their output as they produce it")
+	void streamingOutput() throws Exception {
+		var written = new AtomicLong();
+		var counter = new Writer() {
+			@Override
+			public void write(char[] buffer, int offset, int length) {
+				written.addAndGet(length);
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		Assertions.assertTrue(application.run(GreetCommand.class, new String[]{ "export", "--rows", "100000" }, counter));
+		Assertions.assertEquals(988_895, written.get());
+
+		var out = new StringWriter();
+		Assertions.assertTrue(application.run(GreetCommand.class, new String[]{ "greet", "-n", "Perry" }, out));
+		Assertions.assertEquals("Hey, Perry. You're 18 years young.", out.toString());
+
+		var output = application.run(GreetCommand.class, new String[]{ "export" });
+		Assertions.assertEquals("row 1\nrow 2\nrow 3\n", output.output());
+	}
+
+	@Test
+	@DisplayName("Test that only the class of the invoked command is initialized")
+	void lazyCommands() throws Exception {
+		var property = "minicli.test.connected";
+		application.run(GreetCommand.class, new String[]{ "greet", "-n", "Perry" });
+		application.run(GreetCommand.class, new String[]{ "help" });
+		Assertions.assertNull(System.getProperty(property));
+
+		Assertions.assertEquals("Connected", application.run(GreetCommand.class, new String[]{ "connect" }).output());
+		Assertions.assertEquals("true", System.getProperty(property));
+	}
+
+	@Test
+	@DisplayName("Test that commands run from the generated registry without scanning or reflection")
+	void generatedRegistry() throws Exception {
+		var registry = new CommandRegistry();
+		var fromRegistry = MinicliApplication.builder()
+			.withApplicationParams(PARAMS)
+			.withCommandIndex(registry)
+			.withInstantiator(registry)
+			.build();
+
+		var output = fromRegistry.run(GreetCommand.class, new String[]{ "greet", "-n", "Perry" });
+		Assertions.assertEquals("Hey, Perry. You're 18 years young.", output.output());
+	}
+
+	@Test
+	@DisplayName("Test that training warms up every command without running them")
+	void train(@TempDir Path directory) {
+		Assertions.assertEquals(7, application.train(GreetCommand.class));
+
+		// The test JVM is not started with -XX:+RecordDynamicDumpInfo
+		var archive = directory.resolve("minicli.jsa");
+		Assertions.assertThrows(RuntimeException.class, () -> application.dumpArchive(archive));
+	}
+
+	@Test
+	@DisplayName("Test that the help can be filtered and paged")
+	void helpQuery() throws Exception {
+		var out = new StringWriter();
+		Assertions.assertTrue(application.run(GreetCommand.class, new String[]{ "help", "--prefix", "G" }, out));
+		Assertions.assertTrue(out.toString().contains("g, greet - Prints a greeting"));
+		Assertions.assertFalse(out.toString().contains("sum - Adds two numbers"));
+		Assertions.assertFalse(out.toString().contains("Showing"));
+
+		var output = application.run(GreetCommand.class, new String[]{ "help", "--group", "math" });
+		Assertions.assertTrue(output.output().contains("sum - Adds two numbers"));
+		Assertions.assertFalse(output.output().contains("Prints a greeting"));
+
+		output = application.run(GreetCommand.class, new String[]{ "help", "--offset", "1", "--limit", "2" });
+		Assertions.assertTrue(output.output().contains("Showing 2 of 7 commands, from 2 to 3."), output.output());
+
+		Assertions.assertThrows(
+			IllegalValueFormatException.class,
+			() -> application.run(GreetCommand.class, new String[]{ "help", "--limit", "many" })
+		);
+	}
+
+	@Test
+	@DisplayName("Test that misspelled commands and options get suggestions")
+	void suggestions() throws Exception {
+		var exception = Assertions.assertThrows(
+			RuntimeException.class,
+			() -> application.run(GreetCommand.class, new String[]{ "gret", "-n", "Perry" })
+		);
+		Assertions.assertEquals("Command not found. Did you mean 'greet'?", exception.getMessage());
+
+		// Unknown options are ignored unless they are rejected explicitly
+		var output = application.run(GreetCommand.class, new String[]{ "greet", "--nmae", "Perry" });
+		Assertions.assertEquals("Hey, null. You're 18 years young.", output.output());
+
+		var strict = MinicliApplication.builder()
+			.withApplicationParams(PARAMS)
+			.withStrictOptions()
+			.build();
+		exception = Assertions.assertThrows(
+			RuntimeException.class,
+			() -> strict.run(GreetCommand.class, new String[]{ "greet", "--nmae", "Perry" })
+		);
+		Assertions.assertEquals("Unknown option '--nmae'. Did you mean '--name'?", exception.getMessage());
+
+		exception = Assertions.assertThrows(
+			RuntimeException.class,
+			() -> application.run(GreetCommand.class, new String[]{ "xyzzy" })
+		);
+		Assertions.assertEquals("Command not found.", exception.getMessage());
+	}
+
+	@Test
+	@DisplayName("Test that commands can be run from many threads at once")
+	void concurrentRuns() throws Exception {
+		var shared = MinicliApplication.builder().withApplicationParams(PARAMS).build();
+		var threads = 8;
+		var runs = 2_000;
+		var start = new CountDownLatch(1);
+		var pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (var t = 0; t < threads; t++) {
+				var thread = t;
+				results.add(pool.submit(() -> {
+					start.await();
+					var failures = 0;
+					for (var i = 0; i < runs; i++) {
+						var a = thread * runs + i;
+						var sum = shared.run(GreetCommand.class, new String[]{ "sum", "--a", String.valueOf(a), "-n" });
+						var greet = shared.run(GreetCommand.class, new String[]{ "greet", "--name", "Thread" + a });
+						if (!sum.output().equals(String.valueOf(-(a + 0.0)))
+							|| !greet.output().equals("Hey, Thread" + a + ". You're 18 years young.")) {
+							failures++;
+						}
+					}
+					return failures;
+				}));
+			}
+			start.countDown();
+
+			for (var result : results) {
+				Assertions.assertEquals(0, result.get(60, TimeUnit.SECONDS));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,172 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.commands.GreetCommand;
+import dev.costas.minicli.daemon.WhereCommand;
+import dev.costas.minicli.models.ApplicationParams;
+import dev.costas.minicli.models.ClientRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class MinicliDaemonTest {
+	private static final ApplicationParams PARAMS = new ApplicationParams(
+		"Greetinator", "greetinator", "Greets people", "1.2.3", "Doofenshmirtz Evil Inc.", "hello@example.com", "https://example.com"
+	);
+
+	private final MinicliApplication application = MinicliApplication.builder()
+		.withApplicationParams(PARAMS)
+		.build();
+
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("Test that clients get the output and exit code of their commands")
+	void runsCommands() throws Exception {
+		try (var daemon = application.daemon(GreetCommand.class, directory.resolve("greet.sock"))) {
+			var out = new ByteArrayOutputStream();
+			Assertions.assertEquals(0, MinicliClient.run(daemon.getSocket(), new String[]{ "greet", "-n", "Phineas" }, out));
+			Assertions.assertEquals("Hey, Phineas. You're 18 years young.\n", out.toString(StandardCharsets.UTF_8));
+
+			out.reset();
+			Assertions.assertEquals(2, MinicliClient.run(daemon.getSocket(), new String[]{ "xyzzy" }, out));
+			Assertions.assertEquals("Command not found.\n", out.toString(StandardCharsets.UTF_8));
+
+			out.reset();
+			Assertions.assertEquals(0, MinicliClient.run(daemon.getSocket(), new String[]{ "export", "--rows", "10000" }, out));
+			var export = out.toString(StandardCharsets.UTF_8);
+			Assertions.assertTrue(export.startsWith("row 1\nrow 2\n"));
+			Assertions.assertTrue(export.endsWith("row 9999\nrow 10000\n\n"));
+		}
+	}
+
+	@Test
+	@DisplayName("Test that only the owner of the daemon can connect to its socket")
+	void ownerOnlySocket() throws Exception {
+		try (var daemon = application.daemon(GreetCommand.class, directory.resolve("owner.sock"))) {
+			Assertions.assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(daemon.getSocket()));
+			// The private directory it was bound in is removed once it is moved into place
+			try (var files = Files.list(directory)) {
+				Assertions.assertEquals(List.of(daemon.getSocket()), files.toList());
+			}
+			var out = new ByteArrayOutputStream();
+			Assertions.assertEquals(0, MinicliClient.run(daemon.getSocket(), new String[]{ "greet", "-n", "Candace" }, out));
+		}
+	}
+
+	@Test
+	@DisplayName("Test that commands see the environment and working directory of the client, and paths are resolved against it")
+	void forwardsEnvironment() throws Exception {
+		try (var daemon = application.daemon(WhereCommand.class, directory.resolve("where.sock"))) {
+			var out = new ByteArrayOutputStream();
+			var request = new ClientRequest(List.of("where"), Map.of("GREETING", "Howdy"), Path.of("/srv/tristate"));
+			Assertions.assertEquals(0, MinicliClient.run(daemon.getSocket(), request, out));
+			Assertions.assertEquals("/srv/tristate Howdy\n", out.toString(StandardCharsets.UTF_8));
+
+			out.reset();
+			request = new ClientRequest(List.of("where", "--file", "plans/inator.txt"), Map.of("GREETING", "Howdy"), Path.of("/srv/tristate"));
+			Assertions.assertEquals(0, MinicliClient.run(daemon.getSocket(), request, out));
+			Assertions.assertEquals("/srv/tristate Howdy /srv/tristate/plans/inator.txt\n", out.toString(StandardCharsets.UTF_8));
+		}
+		Assertions.assertNull(MinicliDaemon.currentRequest());
+	}
+
+	@Test
+	@DisplayName("Test that exceptions without a message are reported by their type")
+	void exceptionWithoutMessage() throws Exception {
+		try (var daemon = application.daemon(WhereCommand.class, directory.resolve("break.sock"))) {
+			var out = new ByteArrayOutputStream();
+			Assertions.assertEquals(1, MinicliClient.run(daemon.getSocket(), new String[]{ "break" }, out));
+			Assertions.assertEquals("java.lang.IllegalStateException\n", out.toString(StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	@DisplayName("Test that argument files are read from the working directory of the client")
+	void argumentFiles() throws Exception {
+		Files.writeString(directory.resolve("where.args"), "--file plans/inator.txt\n");
+		var withFiles = MinicliApplication.builder()
+			.withApplicationParams(PARAMS)
+			.withArgumentFiles()
+			.build();
+
+		try (var daemon = withFiles.daemon(WhereCommand.class, directory.resolve("files.sock"))) {
+			var out = new ByteArrayOutputStream();
+			var request = new ClientRequest(List.of("where", "@where.args"), Map.of("GREETING", "Howdy"), directory);
+			Assertions.assertEquals(0, MinicliClient.run(daemon.getSocket(), request, out));
+			Assertions.assertEquals(
+				directory + " Howdy " + directory.resolve("plans/inator.txt") + "\n",
+				out.toString(StandardCharsets.UTF_8)
+			);
+		}
+	}
+
+	@Test
+	@DisplayName("Test that requests from several clients are handled at once")
+	void concurrentClients() throws Exception {
+		var pool = Executors.newFixedThreadPool(8);
+		try (var daemon = application.daemon(GreetCommand.class, directory.resolve("wait.sock"))) {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (var i = 0; i < 8; i++) {
+				Callable<Integer> client = () -> MinicliClient.run(
+					daemon.getSocket(), new String[]{ "wait", "--millis", "300" }, new ByteArrayOutputStream()
+				);
+				results.add(pool.submit(client));
+			}
+
+			var start = System.nanoTime();
+			for (var result : results) {
+				Assertions.assertEquals(0, result.get(10, TimeUnit.SECONDS));
+			}
+			Assertions.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(8 * 300));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	@DisplayName("Test that the daemon closes itself once it is idle")
+	void idleTimeout() throws Exception {
+		var daemon = application.daemon(GreetCommand.class, directory.resolve("idle.sock"), Duration.ofMillis(200));
+		Assertions.assertEquals(0, MinicliClient.run(daemon.getSocket(), new String[]{ "greet" }, new ByteArrayOutputStream()));
+
+		daemon.await();
+		Assertions.assertFalse(Files.exists(daemon.getSocket()));
+		Assertions.assertThrows(
+			IOException.class,
+			() -> MinicliClient.run(daemon.getSocket(), new String[]{ "greet" }, new ByteArrayOutputStream())
+		);
+	}
+
+	@Test
+	@DisplayName("Test that a second daemon cannot listen on the socket of a running one")
+	void socketInUse() throws Exception {
+		var socket = directory.resolve("busy.sock");
+		try (var daemon = application.daemon(GreetCommand.class, socket)) {
+			Assertions.assertThrows(IOException.class, () -> application.daemon(GreetCommand.class, socket));
+			Assertions.assertEquals(0, MinicliClient.run(daemon.getSocket(), new String[]{ "greet" }, new ByteArrayOutputStream()));
+		}
+
+		// The file of a daemon that didn't close is replaced
+		Files.createFile(socket);
+		try (var daemon = application.daemon(GreetCommand.class, socket)) {
+			Assertions.assertEquals(0, MinicliClient.run(daemon.getSocket(), new String[]{ "greet" }, new ByteArrayOutputStream()));
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.commands.GreetCommand;
+import dev.costas.minicli.models.ApplicationParams;
+import dev.costas.minicli.models.BatchOptions;
+import dev.costas.minicli.models.ErrorPolicy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class ParallelBatchTest {
+	private static final ApplicationParams PARAMS = new ApplicationParams(
+		"Greetinator", "greetinator", "Greets people", "1.2.3", "Doofenshmirtz Evil Inc.", "hello@example.com", "https://example.com"
+	);
+
+	private final MinicliApplication application = MinicliApplication.builder()
+		.withApplicationParams(PARAMS)
+		.build();
+
+	@Test
+	@DisplayName("Test that a parallel batch delivers the outputs in order and times out slow commands")
+	void parallelBatch() throws Exception {
+		var script = "wait --millis 200\nsum --a 1\nwait --millis 5000\nsum --a 2\n";
+		List<String> outputs = new ArrayList<>();
+
+		var result = application.runBatch(
+			GreetCommand.class,
+			new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)),
+			o -> outputs.add(o.output()),
+			BatchOptions.defaults().withParallelism(4).withTimeout(Duration.ofSeconds(1))
+		);
+
+		Assertions.assertEquals(
+			List.of("Waited 200 ms", "1.0", "Command timed out after 1000 ms.", "2.0"),
+			outputs
+		);
+		Assertions.assertEquals(4, result.executed());
+		Assertions.assertEquals(1, result.failed());
+		Assertions.assertEquals(3, result.failures().get(0).lineNumber());
+	}
+
+	@Test
+	@DisplayName("Test that an ordered batch with more lines than commands in flight doesn't wait forever on a slow line")
+	void orderedBatchBehindSlowLine() {
+		var script = "wait --millis 200\nsum --a 1\nsum --a 2\nsum --a 3\nsum --a 4\n";
+		List<String> outputs = new ArrayList<>();
+
+		var result = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> application.runBatch(
+			GreetCommand.class,
+			new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)),
+			o -> outputs.add(o.output()),
+			BatchOptions.defaults().withParallelism(1)
+		));
+
+		Assertions.assertEquals(List.of("Waited 200 ms", "1.0", "2.0", "3.0", "4.0"), outputs);
+		Assertions.assertEquals(5, result.executed());
+	}
+
+	@Test
+	@DisplayName("Test that an unordered batch runs every line when the commands in flight are exhausted")
+	void unorderedBatchExhaustsPermits() {
+		var script = "wait --millis 200\nsum --a 1\nsum --a 2\nsum --a 3\nsum --a 4\nsum --a 5\n";
+		List<String> outputs = Collections.synchronizedList(new ArrayList<>());
+
+		var result = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> application.runBatch(
+			GreetCommand.class,
+			new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)),
+			o -> outputs.add(o.output()),
+			BatchOptions.defaults().withParallelism(1).withOrdered(false)
+		));
+
+		Assertions.assertEquals(6, result.executed());
+		Assertions.assertEquals(6, outputs.size());
+		Assertions.assertTrue(outputs.containsAll(List.of("Waited 200 ms", "1.0", "5.0")), outputs.toString());
+	}
+
+	@Test
+	@DisplayName("Test that an exception thrown by the sink is rethrown by the batch in both modes")
+	void sinkFailure() {
+		var script = "sum --a 1\nsum --a 2\nsum --a 3\nsum --a 4\n";
+
+		for (var ordered : List.of(true, false)) {
+			List<String> outputs = Collections.synchronizedList(new ArrayList<>());
+			var exception = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> Assertions.assertThrows(
+				IllegalStateException.class,
+				() -> application.runBatch(
+					GreetCommand.class,
+					new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)),
+					o -> {
+						outputs.add(o.output());
+						throw new IllegalStateException("Sink is full");
+					},
+					BatchOptions.defaults().withParallelism(2).withOrdered(ordered)
+				)
+			));
+			Assertions.assertEquals("Sink is full", exception.getMessage());
+			Assertions.assertEquals(1, outputs.size(), outputs.toString());
+		}
+	}
+
+	@Test
+	@DisplayName("Test that stopping on failure skips the later commands still in flight")
+	void stopOnFailureSkipsInFlight() throws Exception {
+		var ordered = "wait --millis 200\nnope\nsum --a 1\nsum --a 2\n";
+		List<String> outputs = new ArrayList<>();
+
+		var result = application.runBatch(
+			GreetCommand.class,
+			new ByteArrayInputStream(ordered.getBytes(StandardCharsets.UTF_8)),
+			o -> outputs.add(o.output()),
+			BatchOptions.defaults().withParallelism(4).withPolicy(ErrorPolicy.STOP_ON_FAILURE)
+		);
+		Assertions.assertEquals(2, outputs.size(), outputs.toString());
+		Assertions.assertEquals("Waited 200 ms", outputs.get(0));
+		Assertions.assertEquals(2, result.executed());
+		Assertions.assertEquals(1, result.failed());
+
+		var unordered = "wait --millis 200\nnope\nwait --millis 200\n";
+		List<String> unorderedOutputs = Collections.synchronizedList(new ArrayList<>());
+
+		var unorderedResult = application.runBatch(
+			GreetCommand.class,
+			new ByteArrayInputStream(unordered.getBytes(StandardCharsets.UTF_8)),
+			o -> unorderedOutputs.add(o.output()),
+			BatchOptions.defaults().withParallelism(4).withOrdered(false).withPolicy(ErrorPolicy.STOP_ON_FAILURE)
+		);
+		// The command before the failing line still finishes and is delivered, the one after it is not
+		Assertions.assertEquals(2, unorderedOutputs.size(), unorderedOutputs.toString());
+		Assertions.assertEquals("Waited 200 ms", unorderedOutputs.get(1));
+		Assertions.assertEquals(2, unorderedResult.executed());
+		Assertions.assertEquals(2, unorderedResult.failures().get(0).lineNumber());
+	}
+}
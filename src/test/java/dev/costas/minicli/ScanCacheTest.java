@@ -0,0 +1,47 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.models.CommandDescriptor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class ScanCacheTest {
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("Test that cached commands are read back while the fingerprint matches")
+	void readsCachedCommands() {
+		var cache = new ScanCache(directory.resolve("cache"));
+		var descriptors = List.of(
+			new CommandDescriptor("com.example.GreetCommand", "greet", "g"),
+			new CommandDescriptor("com.example.SumCommand", "sum", "")
+		);
+
+		Assertions.assertNull(cache.read("com.example", "abc"));
+		cache.write("com.example", "abc", descriptors);
+		Assertions.assertEquals(descriptors, cache.read("com.example", "abc"));
+		Assertions.assertNull(cache.read("com.example", "def"));
+		Assertions.assertNull(cache.read("com.other", "abc"));
+	}
+
+	@Test
+	@DisplayName("Test that the fingerprint changes when a class in the classpath changes")
+	void fingerprintChanges() throws IOException {
+		var classes = Files.createDirectories(directory.resolve("classes/com/example"));
+		Files.writeString(classes.resolve("GreetCommand.class"), "greet");
+		var classpath = directory.resolve("classes").toString();
+
+		var fingerprint = ScanCache.fingerprint(classpath);
+		Assertions.assertEquals(fingerprint, ScanCache.fingerprint(classpath));
+
+		Files.writeString(classes.resolve("GreetCommand.class"), "greet, but longer");
+		Assertions.assertNotEquals(fingerprint, ScanCache.fingerprint(classpath));
+	}
+}
@@ -0,0 +1,61 @@
+package dev.costas.minicli;
+
+import dev.costas.minicli.exceptions.IllegalValueFormatException;
+import dev.costas.minicli.exceptions.UnsupportedParameterTypeException;
+import dev.costas.minicli.models.ApplicationParams;
+import dev.costas.minicli.models.DataSize;
+import dev.costas.minicli.types.CopyCommand;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+class TypeConvertersTest {
+	private static final ApplicationParams PARAMS = new ApplicationParams(
+		"Greetinator", "greetinator", "Greets people", "1.2.3", "Doofenshmirtz Evil Inc.", "hello@example.com", "https://example.com"
+	);
+
+	private final MinicliApplication application = MinicliApplication.builder()
+		.withApplicationParams(PARAMS)
+		.build();
+
+	@Test
+	@DisplayName("Test that parameters are converted by the built-in and registered type converters")
+	void typeConverters() throws Exception {
+		var converting = MinicliApplication.builder()
+			.withApplicationParams(PARAMS)
+			.withTypeConverter(UUID.class, UUID::fromString)
+			.build();
+
+		Assertions.assertEquals(
+			"/tmp/a.txt https://example.com/b VERY_SAFE PT0.5S 536870912 12.50 2023-01-02T03:04:05Z cafe 123e4567-e89b-12d3-a456-426614174000",
+			converting.run(CopyCommand.class, new String[]{
+				"copy", "--from", "/tmp/a.txt", "--to", "https://example.com/b", "--mode", "very-safe", "--timeout", "500ms",
+				"--buffer", "512MiB", "--price", "12.50", "--after", "2023-01-02T03:04:05Z", "--key", "0xCAFE",
+				"--id", "123e4567-e89b-12d3-a456-426614174000"
+			}).output()
+		);
+		Assertions.assertEquals(
+			"null null FAST PT30S 65536 null null cafe null",
+			converting.run(CopyCommand.class, new String[]{ "copy", "--key", "base64:yv4=" }).output()
+		);
+
+		Assertions.assertThrows(
+			IllegalValueFormatException.class,
+			() -> converting.run(CopyCommand.class, new String[]{ "copy", "--mode", "slow" })
+		);
+		Assertions.assertThrows(
+			IllegalValueFormatException.class,
+			() -> converting.run(CopyCommand.class, new String[]{ "copy", "--buffer", "12 parsecs" })
+		);
+		Assertions.assertThrows(
+			UnsupportedParameterTypeException.class,
+			() -> application.run(CopyCommand.class, new String[]{ "copy" })
+		);
+
+		Assertions.assertEquals(1_500_000_000L, DataSize.parse("1.5GB").bytes());
+		Assertions.assertEquals(2048L, DataSize.parse("2 kib").bytes());
+		Assertions.assertEquals(7L, DataSize.parse("7").bytes());
+	}
+}
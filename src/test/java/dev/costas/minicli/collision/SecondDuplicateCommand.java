@@ -0,0 +1,13 @@
+package dev.costas.minicli.collision;
+
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.models.CommandOutput;
+
+@Command(name = "other", shortname = "d")
+public class SecondDuplicateCommand implements RunnableCommand {
+	@Override
+	public CommandOutput run() {
+		return new CommandOutput("Second");
+	}
+}
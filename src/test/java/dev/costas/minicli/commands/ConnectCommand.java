@@ -0,0 +1,17 @@
+package dev.costas.minicli.commands;
+
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.models.CommandOutput;
+
+@Command(name = "connect", description = "Opens a connection when its class is initialized")
+public class ConnectCommand implements RunnableCommand {
+	static {
+		System.setProperty("minicli.test.connected", "true");
+	}
+
+	@Override
+	public CommandOutput run() {
+		return new CommandOutput("Connected");
+	}
+}
@@ -0,0 +1,24 @@
+package dev.costas.minicli.commands;
+
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.models.CommandOutput;
+import dev.costas.minicli.models.Scope;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Command(name = "count", description = "Counts the times this instance has run", scope = Scope.POOLED)
+public class CountCommand implements RunnableCommand {
+	public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+	private int runs = 0;
+
+	public CountCommand() {
+		INSTANCES.incrementAndGet();
+	}
+
+	@Override
+	public CommandOutput run() {
+		return new CommandOutput(String.valueOf(++runs));
+	}
+}
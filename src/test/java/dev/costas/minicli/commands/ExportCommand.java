@@ -0,0 +1,22 @@
+package dev.costas.minicli.commands;
+
+import dev.costas.minicli.StreamingRunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.annotation.Parameter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+@Command(name = "export", description = "Exports the given number of rows")
+public class ExportCommand implements StreamingRunnableCommand {
+	@Parameter(name = "rows", description = "The number of rows to export", defaultValue = "3")
+	private int rows;
+
+	@Override
+	public boolean run(Writer out) throws IOException {
+		for (var i = 1; i <= rows; i++) {
+			out.write("row " + i + "\n");
+		}
+		return true;
+	}
+}
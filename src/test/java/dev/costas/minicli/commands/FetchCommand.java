@@ -0,0 +1,26 @@
+package dev.costas.minicli.commands;
+
+import dev.costas.minicli.AsyncRunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.annotation.Parameter;
+import dev.costas.minicli.models.CommandOutput;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Command(name = "fetch", description = "Pretends to fetch a resource")
+public class FetchCommand implements AsyncRunnableCommand {
+	@Parameter(name = "resource", description = "The resource to fetch")
+	private String resource;
+
+	@Parameter(name = "millis", description = "The time the fetch takes, in milliseconds", defaultValue = "0")
+	private long millis;
+
+	@Override
+	public CompletableFuture<CommandOutput> runAsync() {
+		return CompletableFuture.supplyAsync(
+			() -> new CommandOutput("Fetched " + resource),
+			CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS)
+		);
+	}
+}
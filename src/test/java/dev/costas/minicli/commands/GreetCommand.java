@@ -0,0 +1,28 @@
+package dev.costas.minicli.commands;
+
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.annotation.Flag;
+import dev.costas.minicli.annotation.Parameter;
+import dev.costas.minicli.models.CommandOutput;
+
+@Command(name = "greet", shortname = "g", description = "Prints a greeting")
+public class GreetCommand implements RunnableCommand {
+	@Parameter(name = "name", shortname = "n", description = "The name of the person to greet")
+	private String name;
+
+	@Parameter(name = "age", description = "The age of the greeted person", defaultValue = "18")
+	private int personAge;
+
+	@Flag(name = "formal", shortname = "f", description = "Whether to use a formal greeting")
+	private boolean formal;
+
+	@Override
+	public CommandOutput run() {
+		if (formal) {
+			return new CommandOutput("Good day, " + name + ". You're " + personAge + " years young.");
+		} else {
+			return new CommandOutput("Hey, " + name + ". You're " + personAge + " years young.");
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package dev.costas.minicli.commands;
+
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.annotation.Flag;
+import dev.costas.minicli.annotation.Parameter;
+import dev.costas.minicli.models.CommandOutput;
+
+@Command(name = "sum", description = "Adds two numbers", group = "math")
+public class SumCommand implements RunnableCommand {
+	@Parameter(name = "a", defaultValue = "0")
+	private long a;
+
+	@Parameter(name = "b", defaultValue = "0")
+	private double b;
+
+	@Parameter(name = "c", defaultValue = "0")
+	private Integer c;
+
+	@Flag(name = "negate", shortname = "n", description = "Negates the result")
+	private Boolean negate;
+
+	@Override
+	public CommandOutput run() {
+		var result = a + b + c;
+		return new CommandOutput(String.valueOf(negate ? -result : result));
+	}
+}
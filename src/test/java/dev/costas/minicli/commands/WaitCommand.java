@@ -0,0 +1,23 @@
+package dev.costas.minicli.commands;
+
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.annotation.Parameter;
+import dev.costas.minicli.models.CommandOutput;
+
+@Command(name = "wait", description = "Waits for the given time")
+public class WaitCommand implements RunnableCommand {
+	@Parameter(name = "millis", description = "The time to wait, in milliseconds", defaultValue = "0")
+	private long millis;
+
+	@Override
+	public CommandOutput run() {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return new CommandOutput(false, "Interrupted");
+		}
+		return new CommandOutput("Waited " + millis + " ms");
+	}
+}
@@ -0,0 +1,13 @@
+package dev.costas.minicli.daemon;
+
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.models.CommandOutput;
+
+@Command(name = "break", description = "Fails without a message")
+public class BreakCommand implements RunnableCommand {
+	@Override
+	public CommandOutput run() {
+		throw new IllegalStateException();
+	}
+}
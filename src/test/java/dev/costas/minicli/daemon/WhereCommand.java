@@ -0,0 +1,22 @@
+package dev.costas.minicli.daemon;
+
+import dev.costas.minicli.MinicliDaemon;
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.annotation.Parameter;
+import dev.costas.minicli.models.CommandOutput;
+
+import java.nio.file.Path;
+
+@Command(name = "where", description = "Prints the working directory and the greeting of the client")
+public class WhereCommand implements RunnableCommand {
+	@Parameter(name = "file", description = "A file to print the path of")
+	private Path file;
+
+	@Override
+	public CommandOutput run() {
+		var request = MinicliDaemon.currentRequest();
+		var where = request.workingDirectory() + " " + request.environment().get("GREETING");
+		return new CommandOutput(file == null ? where : where + " " + file);
+	}
+}
@@ -3,6 +3,12 @@ package dev.costas.minicli.defaults;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 class ArgumentParserTest {
 	@Test
@@ -219,4 +225,84 @@ class ArgumentParserTest {
 		Assertions.assertEquals("works", invocation.getParameter("param"));
 	}
 
+	@Test
+	@DisplayName("Flag values ignore case and surrounding whitespace")
+	void flagValuesIgnoreCase() {
+		var parser = new ArgumentParser();
+
+		var invocation = parser.parse(new String[]{ "doof", "--flag", " TRUE ", "-F2", "False", "--param", "truest" });
+
+		Assertions.assertEquals(2, invocation.getFlags().size());
+		Assertions.assertTrue(invocation.getFlag("flag"));
+		Assertions.assertFalse(invocation.getFlag("f2"));
+		Assertions.assertEquals("truest", invocation.getParameter("param"));
+	}
+
+	@Test
+	@DisplayName("Parameter values are stored without copying them")
+	void parameterValuesAreNotCopied() {
+		var parser = new ArgumentParser();
+		var value = "Works With Spaces ";
+
+		var invocation = parser.parse(new String[]{ "doof", "--PARAM", value });
+
+		Assertions.assertSame(value, invocation.getParameter("param"));
+	}
+
+	@Test
+	@DisplayName("Repeated parameters keep their order across names")
+	void repeatedParameterOrder() {
+		var parser = new ArgumentParser();
+
+		var invocation = parser.parse(new String[]{ "doof", "-t", "a", "--tag", "b", "-t", "c", "--other", "x" });
+
+		Assertions.assertEquals(List.of("a", "b", "c"), invocation.getParameters("tag", "t"));
+		Assertions.assertEquals(List.of("a", "c"), invocation.getParameters("t"));
+		Assertions.assertEquals(List.of("x"), invocation.getParameters("other", "o"));
+	}
+
+	@Test
+	@DisplayName("Argument files")
+	void argumentFiles(@TempDir Path directory) throws IOException {
+		var file = directory.resolve("args.txt");
+		var ids = new StringBuilder("# Generated\n--formal\n");
+		for (var i = 0; i < 100_000; i++) {
+			ids.append("--id ").append(i).append('\n');
+		}
+		Files.writeString(file, ids.append("--name 'Heinz Doofenshmirtz' --evil"));
+
+		var parser = new ArgumentParser(true);
+		var invocation = parser.parse(new String[]{ "doof", "--inator", "shrink", "@" + file, "--handle", "@@doof" });
+		Assertions.assertEquals("shrink", invocation.getParameter("inator"));
+		Assertions.assertEquals(true, invocation.getFlag("formal"));
+		Assertions.assertEquals(100_000, invocation.getParameters("id").size());
+		Assertions.assertEquals("99999", invocation.getParameter("id"));
+		Assertions.assertEquals("Heinz Doofenshmirtz", invocation.getParameter("name"));
+		Assertions.assertEquals(true, invocation.getFlag("evil"));
+		Assertions.assertEquals("@doof", invocation.getParameter("handle"));
+
+		// The option at the end of the file takes the next argument on the command line
+		Files.writeString(file, "--name");
+		Assertions.assertEquals("Perry", parser.parse(new String[]{ "doof", "@" + file, "Perry" }).getParameter("name"));
+
+		var exception = Assertions.assertThrows(
+			RuntimeException.class,
+			() -> parser.parse(new String[]{ "doof", "@" + directory.resolve("missing.txt") })
+		);
+		Assertions.assertTrue(exception.getMessage().startsWith("Cannot read argument file"));
+
+		var disabled = new ArgumentParser().parse(new String[]{ "doof", "--handle", "@perry" });
+		Assertions.assertEquals("@perry", disabled.getParameter("handle"));
+	}
+
+	@Test
+	@DisplayName("Argument files are resolved against the working directory of the invocation")
+	void argumentFilesWorkingDirectory(@TempDir Path directory) throws IOException {
+		Files.writeString(directory.resolve("args.txt"), "--name Perry");
+
+		var invocation = new ArgumentParser(true).parse(new String[]{ "doof", "@args.txt" }, directory);
+		Assertions.assertEquals("Perry", invocation.getParameter("name"));
+		Assertions.assertEquals(directory, invocation.getWorkingDirectory());
+		Assertions.assertNull(new ArgumentParser().parse(new String[]{ "doof" }).getWorkingDirectory());
+	}
 }
@@ -0,0 +1,85 @@
+package dev.costas.minicli.defaults;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+class ArgumentTokenizerTest {
+	private final ArgumentTokenizer tokenizer = new ArgumentTokenizer();
+
+	@Test
+	@DisplayName("Empty line")
+	void empty() {
+		Assertions.assertArrayEquals(new String[]{ }, tokenizer.tokenize("   "));
+	}
+
+	@Test
+	@DisplayName("Arguments separated by whitespace")
+	void whitespace() {
+		Assertions.assertArrayEquals(
+			new String[]{ "greet", "--name", "Ariel", "-f" },
+			tokenizer.tokenize("  greet\t--name   Ariel -f ")
+		);
+	}
+
+	@Test
+	@DisplayName("Quoted arguments")
+	void quotes() {
+		Assertions.assertArrayEquals(
+			new String[]{ "greet", "--name", "Perry the Platypus", "--title", "Agent \"P\"", "" },
+			tokenizer.tokenize("greet --name 'Perry the Platypus' --title \"Agent \\\"P\\\"\" \"\"")
+		);
+	}
+
+	@Test
+	@DisplayName("Escaped whitespace")
+	void escapes() {
+		Assertions.assertArrayEquals(
+			new String[]{ "greet", "--name", "Dr Doofenshmirtz" },
+			tokenizer.tokenize("greet --name Dr\\ Doofenshmirtz")
+		);
+	}
+
+	@Test
+	@DisplayName("Unterminated quote")
+	void unterminatedQuote() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> tokenizer.tokenize("greet --name 'Perry"));
+	}
+
+	@Test
+	@DisplayName("Arguments read from a reader, with comments")
+	void reader() throws IOException {
+		var text = "# Arguments of the inator\n"
+			+ "--name 'Perry the Platypus' # The nemesis\n"
+			+ "--title \"Agent \\\"P\\\" \\o/\"\n"
+			+ "--tag a#b C:\\\\inator\\";
+		List<String> tokens = new ArrayList<>();
+		tokenizer.tokenize(new StringReader(text), tokens::add);
+		Assertions.assertEquals(
+			List.of("--name", "Perry the Platypus", "--title", "Agent \"P\" \\o/", "--tag", "a#b", "C:\\inator\\"),
+			tokens
+		);
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> tokenizer.tokenize(new StringReader("'open"), tokens::add));
+	}
+
+	@Test
+	@DisplayName("Lines and readers are split the same way, but only readers have comments")
+	void lineAndReader() throws IOException {
+		var text = "greet --name 'Perry the Platypus' --title \"Agent \\\"P\\\" \\o/\" Dr\\ Doofenshmirtz '' C:\\\\inator\\";
+		List<String> tokens = new ArrayList<>();
+		tokenizer.tokenize(new StringReader(text), tokens::add);
+		Assertions.assertEquals(
+			List.of("greet", "--name", "Perry the Platypus", "--title", "Agent \"P\" \\o/", "Dr Doofenshmirtz", "", "C:\\inator\\"),
+			tokens
+		);
+		Assertions.assertEquals(tokens, List.of(tokenizer.tokenize(text)));
+
+		Assertions.assertArrayEquals(new String[]{ "greet", "#", "--name", "#Perry" }, tokenizer.tokenize("greet # --name #Perry"));
+	}
+}
@@ -0,0 +1,73 @@
+package dev.costas.minicli.defaults;
+
+import dev.costas.minicli.StreamingRunnableCommand;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+class ConcurrentCommandExecutorTest {
+	@Test
+	@DisplayName("Test that a streaming command that timed out cannot write after the error")
+	void streamingTimeout() throws Exception {
+		var finished = new CountDownLatch(1);
+		StreamingRunnableCommand stubborn = out -> {
+			try {
+				out.write("started ");
+				// Ignores the interruption, like a command blocked in a call that cannot be interrupted
+				var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+				long remaining;
+				while ((remaining = deadline - System.nanoTime()) > 0) {
+					LockSupport.parkNanos(remaining);
+				}
+				out.write("finished");
+				return true;
+			} finally {
+				finished.countDown();
+			}
+		};
+
+		var pool = Executors.newCachedThreadPool();
+		try {
+			var executor = new ConcurrentCommandExecutor(pool, Duration.ofMillis(100));
+			Writer out = new StringWriter();
+
+			Assertions.assertFalse(executor.execute(stubborn, out));
+			Assertions.assertTrue(executor.isAbandoned(stubborn));
+			Assertions.assertTrue(finished.await(5, TimeUnit.SECONDS));
+			Assertions.assertEquals("started Command timed out after 100 ms.", out.toString());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	@DisplayName("Test that a streaming command that finishes in time writes all of its output")
+	void streamingInTime() throws IOException {
+		var pool = Executors.newCachedThreadPool();
+		try {
+			var executor = new ConcurrentCommandExecutor(pool, Duration.ofSeconds(5));
+			var out = new StringWriter();
+
+			StreamingRunnableCommand command = o -> {
+				o.write("row 1\n");
+				o.flush();
+				o.write("row 2\n");
+				return true;
+			};
+			Assertions.assertTrue(executor.execute(command, out));
+			Assertions.assertFalse(executor.isAbandoned(command));
+			Assertions.assertEquals("row 1\nrow 2\n", out.toString());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package dev.costas.minicli.defaults;
+
+import dev.costas.minicli.commands.GreetCommand;
+import dev.costas.minicli.commands.SumCommand;
+import dev.costas.minicli.models.ApplicationParams;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class LinearHelpGeneratorTest {
+	private static final ApplicationParams PARAMS = new ApplicationParams(
+		"Greetinator", "greetinator", "Greets people", "1.2.3", "Doofenshmirtz Evil Inc.", "hello@example.com", "https://example.com"
+	);
+
+	@Test
+	@DisplayName("Test that the help is rendered once and reused until the list of commands changes")
+	void cachesHelp() {
+		var generator = new LinearHelpGenerator();
+		List<Class<?>> classes = List.of(GreetCommand.class, SumCommand.class);
+		var help = generator.show(PARAMS, classes);
+
+		Assertions.assertSame(help, generator.show(PARAMS, classes));
+		// Other lists are not compared, only rendered again
+		Assertions.assertEquals(help, generator.show(PARAMS, List.of(GreetCommand.class, SumCommand.class)));
+		Assertions.assertTrue(help.output().contains(generator.show(PARAMS, GreetCommand.class).output()));
+
+		var other = generator.show(PARAMS, List.of(GreetCommand.class));
+		Assertions.assertNotSame(help, other);
+		Assertions.assertFalse(other.output().contains("sum"));
+	}
+}
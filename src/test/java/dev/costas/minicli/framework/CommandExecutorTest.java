@@ -0,0 +1,36 @@
+package dev.costas.minicli.framework;
+
+import dev.costas.minicli.AsyncRunnableCommand;
+import dev.costas.minicli.defaults.DefaultCommandExecutor;
+import dev.costas.minicli.models.CommandOutput;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+class CommandExecutorTest {
+	@Test
+	@DisplayName("Test that an async command throwing before returning its future completes the future exceptionally")
+	void asyncCommandThrows() {
+		AsyncRunnableCommand failing = () -> {
+			throw new IllegalStateException("Not connected");
+		};
+
+		var future = new DefaultCommandExecutor().executeAsync(failing, Runnable::run);
+
+		var failure = Assertions.assertThrows(ExecutionException.class, future::get);
+		Assertions.assertInstanceOf(IllegalStateException.class, failure.getCause());
+		Assertions.assertEquals("Not connected", failure.getCause().getMessage());
+	}
+
+	@Test
+	@DisplayName("Test that the future of an async command is returned as is")
+	void asyncCommand() throws Exception {
+		var output = CompletableFuture.completedFuture(new CommandOutput("Fetched"));
+		AsyncRunnableCommand fetching = () -> output;
+
+		Assertions.assertSame(output, new DefaultCommandExecutor().executeAsync(fetching, Runnable::run));
+	}
+}
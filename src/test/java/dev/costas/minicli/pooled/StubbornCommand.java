@@ -0,0 +1,33 @@
+package dev.costas.minicli.pooled;
+
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.annotation.Parameter;
+import dev.costas.minicli.models.CommandOutput;
+import dev.costas.minicli.models.Scope;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+@Command(name = "stubborn", description = "Waits for the given time, even when interrupted", scope = Scope.POOLED)
+public class StubbornCommand implements RunnableCommand {
+	public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+	@Parameter(name = "millis", description = "The time to wait, in milliseconds", defaultValue = "0")
+	private long millis;
+
+	public StubbornCommand() {
+		INSTANCES.incrementAndGet();
+	}
+
+	@Override
+	public CommandOutput run() {
+		var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+		long remaining;
+		while ((remaining = deadline - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(remaining);
+		}
+		return new CommandOutput("Waited " + millis + " ms");
+	}
+}
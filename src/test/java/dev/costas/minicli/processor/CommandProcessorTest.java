@@ -0,0 +1,103 @@
+package dev.costas.minicli.processor;
+
+import dev.costas.minicli.framework.Instantiator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class CommandProcessorTest {
+	@TempDir
+	Path directory;
+
+	private int compile(String className, String source, ByteArrayOutputStream errors) throws IOException {
+		var file = directory.resolve("src").resolve(className.replace('.', '/') + ".java");
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, source);
+
+		var compiler = ToolProvider.getSystemJavaCompiler();
+		return compiler.run(null, null, errors,
+			"-classpath", System.getProperty("java.class.path"),
+			"-processor", CommandProcessor.class.getName(),
+			"-d", directory.resolve("out").toString(),
+			file.toString()
+		);
+	}
+
+	@Test
+	@DisplayName("Test that the processor generates the registry and the index")
+	void generatesIndex() throws Exception {
+		var errors = new ByteArrayOutputStream();
+		var result = compile("com.example.commands.GreetCommand", """
+			package com.example.commands;
+
+			import dev.costas.minicli.RunnableCommand;
+			import dev.costas.minicli.annotation.Command;
+			import dev.costas.minicli.annotation.Flag;
+			import dev.costas.minicli.models.CommandOutput;
+
+			@Command(name = "greet")
+			public class GreetCommand implements RunnableCommand {
+				@Flag(name = "formal", shortname = "f", description = "")
+				private boolean formal;
+
+				public CommandOutput run() {
+					return new CommandOutput("Hello");
+				}
+			}
+			""", errors);
+
+		Assertions.assertEquals(0, result, errors.toString());
+		Assertions.assertTrue(Files.exists(directory.resolve("out/com/example/commands/CommandRegistry.class")));
+		Assertions.assertEquals(
+			List.of("com.example.commands.GreetCommand\tgreet\t"),
+			Files.readAllLines(directory.resolve("out/META-INF/minicli/commands"))
+		);
+
+		var reflectConfig = Files.readString(directory.resolve("out/META-INF/native-image/minicli/com.example.commands/reflect-config.json"));
+		Assertions.assertTrue(reflectConfig.contains("\"name\": \"com.example.commands.GreetCommand\""), reflectConfig);
+		Assertions.assertTrue(reflectConfig.contains("{ \"name\": \"formal\", \"allowWrite\": true }"), reflectConfig);
+
+		try (var loader = new URLClassLoader(new URL[]{ directory.resolve("out").toUri().toURL() }, getClass().getClassLoader())) {
+			var registry = (Instantiator) loader.loadClass("com.example.commands.CommandRegistry").getConstructor().newInstance();
+			var command = loader.loadClass("com.example.commands.GreetCommand");
+			Assertions.assertInstanceOf(command, registry.getInstance(command));
+		}
+	}
+
+	@Test
+	@DisplayName("Test that the processor rejects flags that are not booleans")
+	void rejectsNonBooleanFlag() throws IOException {
+		var errors = new ByteArrayOutputStream();
+		var result = compile("com.example.commands.BrokenCommand", """
+			package com.example.commands;
+
+			import dev.costas.minicli.RunnableCommand;
+			import dev.costas.minicli.annotation.Command;
+			import dev.costas.minicli.annotation.Flag;
+			import dev.costas.minicli.models.CommandOutput;
+
+			@Command(name = "broken")
+			public class BrokenCommand implements RunnableCommand {
+				@Flag(name = "count", shortname = "c", description = "")
+				private int count;
+
+				public CommandOutput run() {
+					return new CommandOutput("Broken");
+				}
+			}
+			""", errors);
+
+		Assertions.assertNotEquals(0, result);
+		Assertions.assertTrue(errors.toString().contains("Flag count must be a boolean."), errors.toString());
+	}
+}
@@ -0,0 +1,62 @@
+package dev.costas.minicli.types;
+
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.annotation.Parameter;
+import dev.costas.minicli.models.CommandOutput;
+import dev.costas.minicli.models.DataSize;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Command(name = "copy", description = "Copies a file")
+public class CopyCommand implements RunnableCommand {
+	public enum Mode { FAST, VERY_SAFE }
+
+	@Parameter(name = "from")
+	private Path from;
+
+	@Parameter(name = "to")
+	private URI to;
+
+	@Parameter(name = "mode", defaultValue = "fast")
+	private Mode mode;
+
+	@Parameter(name = "timeout", defaultValue = "PT30S")
+	private Duration timeout;
+
+	@Parameter(name = "buffer", defaultValue = "64KiB")
+	private DataSize buffer;
+
+	@Parameter(name = "price")
+	private BigDecimal price;
+
+	@Parameter(name = "after")
+	private Instant after;
+
+	@Parameter(name = "key")
+	private byte[] key;
+
+	@Parameter(name = "id")
+	private UUID id;
+
+	@Override
+	public CommandOutput run() {
+		return new CommandOutput(String.join(" ",
+			String.valueOf(from),
+			String.valueOf(to),
+			String.valueOf(mode),
+			String.valueOf(timeout),
+			String.valueOf(buffer.bytes()),
+			String.valueOf(price),
+			String.valueOf(after),
+			key == null ? "null" : HexFormat.of().formatHex(key),
+			String.valueOf(id)
+		));
+	}
+}
@@ -0,0 +1,39 @@
+package dev.costas.minicli.types;
+
+import dev.costas.minicli.RunnableCommand;
+import dev.costas.minicli.annotation.Command;
+import dev.costas.minicli.annotation.Parameter;
+import dev.costas.minicli.models.CommandOutput;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+@Command(name = "purge", description = "Purges the given records")
+public class PurgeCommand implements RunnableCommand {
+	@Parameter(name = "id", shortname = "i")
+	private int[] ids;
+
+	@Parameter(name = "account")
+	private long[] accounts;
+
+	@Parameter(name = "weight", defaultValue = "0.5;1.5", separator = ";")
+	private double[] weights;
+
+	@Parameter(name = "tag", shortname = "t")
+	private List<String> tags;
+
+	@Parameter(name = "note", separator = "")
+	private String[] notes;
+
+	@Override
+	public CommandOutput run() {
+		return new CommandOutput(String.join(" | ",
+			Arrays.toString(ids),
+			accounts == null ? "null" : String.valueOf(LongStream.of(accounts).sum()),
+			Arrays.toString(weights),
+			String.valueOf(tags),
+			Arrays.toString(notes)
+		));
+	}
+}